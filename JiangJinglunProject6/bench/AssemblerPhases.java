@@ -0,0 +1,89 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/*
+  Runs each phase of the Assembler on one generated program, see hackbench.AssemblerBenchmark.
+*/
+public class AssemblerPhases implements hackbench.Phases{
+
+  private final List<String> source;
+
+  private final List<String> cleaned;
+
+  private final List<String> instructions;
+
+  private final List<String> computations = new ArrayList<>();
+
+  private final Assembler assembler = new Assembler();
+
+  private final Path input;
+
+  private final Path output;
+
+  public AssemblerPhases(String shape, int size) throws IOException{
+    source = ProgramGenerator.generate(ProgramGenerator.Shape.valueOf(shape), size, 42);
+    cleaned = Assembler.commentRemover(source);
+    instructions = new ArrayList<>(cleaned);
+    assembler.findLabels(instructions);
+    for (String line : instructions){
+      if (line.charAt(0) != '@'){
+        computations.add(line);
+      }
+    }
+    encode(); // Allocates the variables, so every measured run only looks them up.
+
+    input = Files.createTempFile("bench", ".asm");
+    output = Files.createTempFile("bench", ".hack");
+    Files.write(input, source);
+  }
+
+  @Override
+  public Object commentRemover(){
+    return Assembler.commentRemover(source);
+  }
+
+  // Includes copying the cleaned lines, since findLabels removes the labels from its input.
+  @Override
+  public Object findLabels(){
+    List<String> lines = new ArrayList<>(cleaned);
+    new Assembler().findLabels(lines);
+    return lines;
+  }
+
+  @Override
+  public int encode(){
+    int hash = 0;
+    for (String line : instructions){
+      hash = 31 * hash + assembler.encode(line);
+    }
+    return hash;
+  }
+
+  @Override
+  public int cInstruction(){
+    int hash = 0;
+    for (String line : computations){
+      hash = 31 * hash + Assembler.encodeC(line, 0, line.length());
+    }
+    return hash;
+  }
+
+  @Override
+  public void assembleFile() throws IOException{
+    new Assembler().assembleFile(input.toString(), output.toString());
+  }
+
+  @Override
+  public void assembleFileParallel() throws IOException{
+    Assembler.Options options = new Assembler.Options();
+    options.parallel = true;
+    new Assembler().assembleFile(input.toString(), output.toString(), options);
+  }
+
+  @Override
+  public void close() throws IOException{
+    Files.deleteIfExists(input);
+    Files.deleteIfExists(output);
+  }
+}
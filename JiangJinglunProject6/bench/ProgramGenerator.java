@@ -0,0 +1,95 @@
+import java.util.*;
+
+/*
+  Generates synthetic Hack assembly programs for the benchmarks.
+  The same shape, size and seed always give the same program.
+*/
+public class ProgramGenerator{
+
+  public enum Shape{
+    LABEL_DENSE, VARIABLE_DENSE, COMMENT_HEAVY, C_HEAVY
+  }
+
+  private static final String[] COMPS = {"0", "1", "-1", "D", "A", "!D", "-A", "D+1", "A-1", "D+A", "D-A",
+      "A-D", "D&A", "D|A", "M", "!M", "-M", "M+1", "M-1", "D+M", "D-M", "M-D", "D&M", "D|M"};
+
+  private static final String[] DESTS = {"M", "D", "MD", "A", "AM", "AD", "AMD"};
+
+  private static final String[] JUMPS = {"JGT", "JEQ", "JGE", "JLT", "JNE", "JLE", "JMP"};
+
+  private static final String[] PREDEFINED = {"SP", "LCL", "ARG", "THIS", "THAT", "R13", "R14", "R15", "SCREEN", "KBD"};
+
+  /*
+    Returns the lines of a program with about the given number of instructions.
+    The size has to stay below 32768 so that every label address fits in an A-instruction.
+  */
+  public static List<String> generate(Shape shape, int size, long seed){
+    Random random = new Random(seed);
+    List<String> lines = new ArrayList<>();
+    int instructions = 0;
+    int labels = 0;
+
+    while (instructions < size){
+      switch (shape){
+        case LABEL_DENSE:
+          lines.add("(L" + labels + ")");
+          labels++;
+          lines.add("@L" + random.nextInt(labels + 16));
+          lines.add("D;" + pick(random, JUMPS));
+          instructions += 2;
+          break;
+        case VARIABLE_DENSE:
+          lines.add("@v" + random.nextInt(8000));
+          lines.add(pick(random, DESTS) + "=" + pick(random, COMPS));
+          instructions += 2;
+          break;
+        case COMMENT_HEAVY:
+          if (random.nextInt(4) == 0){
+            lines.add("/* block comment");
+            lines.add("   spanning lines */");
+          }
+          lines.add("// instruction " + instructions);
+          lines.add("    @" + pick(random, PREDEFINED) + "    // load a pointer");
+          lines.add("    " + pick(random, DESTS) + " = " + pick(random, COMPS) + "   // update it");
+          instructions += 2;
+          break;
+        case C_HEAVY:
+          if (random.nextInt(8) == 0){
+            lines.add(pick(random, COMPS) + ";" + pick(random, JUMPS));
+          }
+          else{
+            lines.add(pick(random, DESTS) + "=" + pick(random, COMPS));
+          }
+          instructions++;
+          break;
+      }
+    }
+
+    // Every label that was jumped to must exist.
+    for (int i = labels; i < labels + 16 && shape == Shape.LABEL_DENSE; i++){
+      lines.add("(L" + i + ")");
+    }
+    lines.add("(END)");
+    lines.add("@END");
+    lines.add("0;JMP");
+    return lines;
+  }
+
+  private static String pick(Random random, String[] choices){
+    return choices[random.nextInt(choices.length)];
+  }
+
+  /*
+    Prints a generated program, for example to assemble it by hand:
+    java ProgramGenerator C_HEAVY 30000 > Program.asm
+  */
+  public static void main(String[] args){
+    if (args.length != 2){
+      System.err.println("Usage: java ProgramGenerator <shape> <size>");
+      return;
+    }
+    for (String line : generate(Shape.valueOf(args[0]), Integer.parseInt(args[1]), 42)){
+      System.out.println(line);
+    }
+  }
+}
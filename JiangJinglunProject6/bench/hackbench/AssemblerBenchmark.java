@@ -0,0 +1,78 @@
+package hackbench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/*
+  Measures each phase of the Assembler and the whole file assembly on generated programs.
+  main runs every benchmark with the GC profiler, which adds the allocation rate to the report.
+*/
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AssemblerBenchmark{
+
+  @Param({"LABEL_DENSE", "VARIABLE_DENSE", "COMMENT_HEAVY", "C_HEAVY"})
+  public String shape;
+
+  @Param({"1000", "10000", "30000"})
+  public int size;
+
+  private Phases phases;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception{
+    phases = (Phases) Class.forName("AssemblerPhases")
+        .getConstructor(String.class, int.class)
+        .newInstance(shape, size);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception{
+    phases.close();
+  }
+
+  @Benchmark
+  public Object commentRemover(){
+    return phases.commentRemover();
+  }
+
+  @Benchmark
+  public Object findLabels(){
+    return phases.findLabels();
+  }
+
+  @Benchmark
+  public int encode(){
+    return phases.encode();
+  }
+
+  @Benchmark
+  public int cInstruction(){
+    return phases.cInstruction();
+  }
+
+  @Benchmark
+  public void assembleFile() throws Exception{
+    phases.assembleFile();
+  }
+
+  @Benchmark
+  public void assembleFileParallel() throws Exception{
+    phases.assembleFileParallel();
+  }
+
+  public static void main(String[] args) throws RunnerException{
+    new Runner(new OptionsBuilder()
+        .include(AssemblerBenchmark.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .build()).run();
+  }
+}
@@ -0,0 +1,24 @@
+package hackbench;
+
+/*
+  The Assembler phases measured by AssemblerBenchmark.
+  JMH needs the benchmark in a named package, and a named package cannot refer to the Assembler in the
+  default package, so the phases are implemented by AssemblerPhases in the default package.
+*/
+public interface Phases extends AutoCloseable{
+
+  Object commentRemover();
+
+  Object findLabels();
+
+  int encode();
+
+  int cInstruction();
+
+  void assembleFile() throws Exception;
+
+  void assembleFileParallel() throws Exception;
+
+  @Override
+  void close() throws java.io.IOException;
+}
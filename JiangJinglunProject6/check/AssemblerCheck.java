@@ -0,0 +1,180 @@
+import java.io.*;
+import java.nio.ByteOrder;
+import java.nio.file.*;
+import java.util.*;
+
+/*
+  Behaviour checks of the Assembler. Every program of the programs directory is assembled in each mode of the
+  command line and compared with the .hack file next to it, which the original Assembler wrote.
+  Prints every check that failed and exits with status 1 when there was one.
+*/
+public class AssemblerCheck{
+
+  static final String[] PROGRAMS = {"Mult", "Fill", "Snake"};
+
+  private static int failures = 0;
+
+  private static void check(boolean condition, String message){
+    if (!condition){
+      System.out.println("FAILED: " + message);
+      failures++;
+    }
+  }
+
+  // The words of a .hack text.
+  private static short[] parse(String hack){
+    List<String> lines = hack.lines().filter(line -> !line.isEmpty()).toList();
+    short[] words = new short[lines.size()];
+    for (int i = 0; i < words.length; i++){
+      words[i] = (short) Integer.parseInt(lines.get(i), 2);
+    }
+    return words;
+  }
+
+  /*
+    java AssemblerCheck [programs directory]
+  */
+  public static void main(String[] args) throws Exception{
+    Path programs = Paths.get(args.length > 0 ? args[0] : "programs");
+    Path work = Files.createTempDirectory("assembler-check");
+
+    for (String name : PROGRAMS){
+      String source = programs.resolve(name + ".asm").toString();
+      String expected = Files.readString(programs.resolve(name + ".hack"));
+      short[] expectedWords = parse(expected);
+      String output = work.resolve(name + ".hack").toString();
+
+      // Streaming, the default.
+      Assembler assembler = new Assembler();
+      assembler.assembleFile(source, output);
+      check(Files.readString(Paths.get(output)).equals(expected), name + ": streaming output differs from the baseline");
+      check(assembler.stats().instructions() == expectedWords.length, name + ": stats count "
+          + assembler.stats().instructions() + " instructions instead of " + expectedWords.length);
+      check(assembler.sourceMap(Assembler.fileSource(source)).length() == expectedWords.length,
+          name + ": the source map does not have a line for every instruction");
+
+      check(Assembler.assembleString(Files.readString(Paths.get(source))).equals(expected),
+          name + ": assembleString differs from the baseline");
+
+      Assembler.Options parallel = new Assembler.Options();
+      parallel.parallel = true;
+      new Assembler().assembleFile(source, output, parallel);
+      check(Files.readString(Paths.get(output)).equals(expected), name + ": --parallel output differs from the baseline");
+
+      for (ByteOrder byteOrder : new ByteOrder[]{ByteOrder.BIG_ENDIAN, ByteOrder.LITTLE_ENDIAN}){
+        for (boolean inParallel : new boolean[]{false, true}){
+          Assembler.Options binary = new Assembler.Options();
+          binary.binary = true;
+          binary.byteOrder = byteOrder;
+          binary.parallel = inParallel;
+          String image = work.resolve(name + ".hrom").toString();
+          new Assembler().assembleFile(source, image, binary);
+          check(Arrays.equals(RomImage.load(image), expectedWords), name + ": --binary " + byteOrder
+              + (inParallel ? " --parallel" : "") + " image does not load back to the baseline");
+          check(Arrays.equals(HackEmulator.readProgram(image), expectedWords), name + ": the emulator reads the "
+              + byteOrder + " image differently");
+        }
+      }
+
+      Assembler optimizer = new Assembler();
+      short[] optimized = optimizer.assembleWords(Assembler.fileSource(source), null, true);
+      check(optimized.length + optimizer.removedInstructions() == expectedWords.length, name
+          + ": --optimize removed " + optimizer.removedInstructions() + " instructions but emitted " + optimized.length
+          + " of " + expectedWords.length);
+    }
+
+    checkCache(programs, work);
+    checkDirectory(programs, work);
+    checkOptimizedMult(programs);
+
+    if (failures > 0){
+      System.out.println(failures + " checks failed");
+      System.exit(1);
+    }
+    System.out.println("All Assembler checks passed");
+  }
+
+  /*
+    Assembles each program three times through the command line with --cache. The later runs are hits that copy
+    the same output, also with --parallel and when the source was touched without being changed, and a changed
+    source is a miss again.
+  */
+  private static void checkCache(Path programs, Path work) throws IOException{
+    String cache = work.resolve("cache").toString();
+    for (String name : PROGRAMS){
+      Path copy = work.resolve("cached-" + name + ".asm");
+      Files.copy(programs.resolve(name + ".asm"), copy, StandardCopyOption.REPLACE_EXISTING);
+      String expected = Files.readString(programs.resolve(name + ".hack"));
+      Path output = work.resolve("cached-" + name + ".hack");
+
+      String[][] runs = {{"--cache", cache, copy.toString()}, {"--cache", cache, copy.toString()},
+          {"--cache", cache, "--parallel", copy.toString()}};
+      for (int run = 0; run < runs.length; run++){
+        Files.deleteIfExists(output);
+        if (run > 0){
+          copy.toFile().setLastModified(System.currentTimeMillis() + 2000 * run);
+        }
+        String printed = runAssembler(runs[run]);
+        String expectedCount = run == 0 ? "Cache: 0 hits, 1 misses" : "Cache: 1 hits, 0 misses";
+        check(printed.contains(expectedCount), name + ": run " + (run + 1) + " of " + String.join(" ", runs[run])
+            + " printed " + printed.strip() + " instead of " + expectedCount);
+        check(Files.exists(output) && Files.readString(output).equals(expected), name + ": run " + (run + 1)
+            + " with the cache differs from the baseline");
+      }
+      Files.writeString(copy, Files.readString(copy) + "\n@0\n");
+      String changed = runAssembler(new String[]{"--cache", cache, copy.toString()});
+      check(changed.contains("Cache: 0 hits, 1 misses"), name + ": a changed source was served from the cache");
+    }
+  }
+
+  private static String runAssembler(String[] args){
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    int status = Assembler.run(args, new PrintStream(out, true), new PrintStream(err, true));
+    check(status == 0, String.join(" ", args) + " exited with " + status + ": " + err);
+    return out.toString();
+  }
+
+  /*
+    Assembles all programs as one directory, on more threads than files and on one thread.
+  */
+  private static void checkDirectory(Path programs, Path work) throws Exception{
+    Path directory = Files.createDirectories(work.resolve("directory"));
+    for (String name : PROGRAMS){
+      Files.copy(programs.resolve(name + ".asm"), directory.resolve(name + ".asm"), StandardCopyOption.REPLACE_EXISTING);
+    }
+    for (int threads : new int[]{1, 8}){
+      List<Assembler.Result> results = Assembler.assembleDirectory(directory.toFile(), new Assembler.Options(), threads);
+      check(results.size() == PROGRAMS.length, "directory mode assembled " + results.size() + " files");
+      for (Assembler.Result result : results){
+        String name = Paths.get(result.input).getFileName().toString().replace(".asm", "");
+        check(result.error == null, name + ": directory mode failed: " + result.error);
+        check(result.error != null || Files.readString(Paths.get(result.output))
+            .equals(Files.readString(programs.resolve(name + ".hack"))), name + ": directory mode output on " + threads
+            + " threads differs from the baseline");
+      }
+    }
+  }
+
+  /*
+    Runs Mult assembled with and without --optimize on several inputs, both have to compute the same product.
+  */
+  private static void checkOptimizedMult(Path programs) throws IOException{
+    String source = programs.resolve("Mult.asm").toString();
+    short[] plain = new Assembler().assembleWords(Assembler.fileSource(source), null, false);
+    short[] optimized = new Assembler().assembleWords(Assembler.fileSource(source), null, true);
+    int[][] inputs = {{0, 0}, {0, 5}, {7, 9}, {13, 1}, {100, 3}, {181, 181}};
+    for (int[] input : inputs){
+      for (short[] program : new short[][]{plain, optimized}){
+        HackEmulator emulator = new HackEmulator();
+        emulator.load(program);
+        emulator.poke(0, input[0]);
+        emulator.poke(1, input[1]);
+        emulator.run(1_000_000);
+        check(emulator.halted() && emulator.peek(2) == (short) (input[0] * input[1]), "Mult"
+            + (program == optimized ? " --optimize" : "") + " computes " + emulator.peek(2) + " for " + input[0]
+            + " * " + input[1]);
+      }
+    }
+  }
+}
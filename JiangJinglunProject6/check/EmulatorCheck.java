@@ -0,0 +1,295 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.function.*;
+
+/*
+  Behaviour checks of the emulators. The MicroOpEmulator, TieredEmulator, HackProfiler, HackTracer and every
+  machine of a BatchEmulator have to be in exactly the state of the HackEmulator interpreter after the same
+  cycles, and a machine restored from a HackSnapshot in the state it was saved in.
+  Prints every check that failed and exits with status 1 when there was one.
+*/
+public class EmulatorCheck{
+
+  private static int failures = 0;
+
+  private static void check(boolean condition, String message){
+    if (!condition){
+      System.out.println("FAILED: " + message);
+      failures++;
+    }
+  }
+
+  // The engines compared with the interpreter, by the name they are reported with.
+  private static final Map<String, Supplier<HackEmulator>> ENGINES = new LinkedHashMap<>();
+
+  static{
+    ENGINES.put("MicroOpEmulator", MicroOpEmulator::new);
+    ENGINES.put("TieredEmulator", TieredEmulator::new);
+    ENGINES.put("HackProfiler", HackProfiler::new);
+    ENGINES.put("HackTracer", () -> {
+      HackTracer tracer = new HackTracer(1 << 10);
+      tracer.watch(0, HackEmulator.RAM_SIZE - 1);
+      return tracer;
+    });
+  }
+
+  /*
+    java EmulatorCheck [programs directory]
+  */
+  public static void main(String[] args) throws Exception{
+    Path programs = Paths.get(args.length > 0 ? args[0] : "programs");
+    short[] mult = HackEmulator.readProgram(programs.resolve("Mult.asm").toString());
+    short[] fill = HackEmulator.readProgram(programs.resolve("Fill.asm").toString());
+    Path work = Files.createTempDirectory("emulator-check");
+
+    int[][] multInputs = {{0, 0}, {7, 9}, {9, 7}, {-3, 5}, {2000, 3}, {30000, 2}};
+    for (int[] input : multInputs){
+      checkEngines("Mult " + input[0] + " * " + input[1], mult, new int[]{0, input[0], 1, input[1]},
+          new long[]{1, 10, 1000, Long.MAX_VALUE}, new int[]{0, 0, 0, 0});
+    }
+    // Fill with a key held down for a while, then released, then pressed again.
+    checkEngines("Fill", fill, new int[0], new long[]{50_000, 300_000, 300_000, 100_000, 300_000},
+        new int[]{0, 75, 0, 32, 32});
+
+    checkTiered(mult);
+    checkBatch(mult, fill);
+    checkProfiler(mult);
+    checkTracer(mult, work);
+    checkDevices(fill);
+    checkSnapshot(mult, work);
+
+    if (failures > 0){
+      System.out.println(failures + " checks failed");
+      System.exit(1);
+    }
+    System.out.println("All emulator checks passed");
+  }
+
+  /*
+    Runs a program on the interpreter and every engine in slices of the given cycles, with the given key in KBD
+    during each slice, and compares them after every slice.
+  */
+  private static void checkEngines(String name, short[] program, int[] pokes, long[] slices, int[] keys){
+    for (Map.Entry<String, Supplier<HackEmulator>> engine : ENGINES.entrySet()){
+      HackEmulator expected = new HackEmulator();
+      HackEmulator actual = engine.getValue().get();
+      for (HackEmulator emulator : new HackEmulator[]{expected, actual}){
+        emulator.load(program);
+        for (int i = 0; i < pokes.length; i += 2){
+          emulator.poke(pokes[i], pokes[i + 1]);
+        }
+      }
+      for (int slice = 0; slice < slices.length; slice++){
+        expected.poke(HackDevices.KBD, keys[slice]);
+        actual.poke(HackDevices.KBD, keys[slice]);
+        long expectedCycles = expected.run(slices[slice]);
+        long actualCycles = actual.run(slices[slice]);
+        String difference = HackEmulator.compare(expected, actual);
+        check(expectedCycles == actualCycles && difference == null, name + ": " + engine.getKey() + " after "
+            + expected.cycles() + " cycles ran " + actualCycles + " instead of " + expectedCycles + " cycles, "
+            + difference);
+      }
+    }
+  }
+
+  /*
+    A loop entered more often than the hot threshold has to be compiled, and then still match the interpreter.
+  */
+  private static void checkTiered(short[] mult){
+    TieredEmulator tiered = new TieredEmulator();
+    tiered.load(mult);
+    tiered.poke(0, 20_000);
+    tiered.poke(1, 3);
+    tiered.run(Long.MAX_VALUE);
+    check(tiered.compileError() == null, "TieredEmulator failed to compile: " + tiered.compileError());
+    check(tiered.compiledBlocks() > 0 && tiered.compiledCycles() > 0, "TieredEmulator compiled "
+        + tiered.compiledBlocks() + " blocks that ran " + tiered.compiledCycles() + " cycles on a hot loop");
+    check(tiered.halted() && tiered.peek(2) == (short) 60_000, "TieredEmulator computes " + tiered.peek(2)
+        + " for 20000 * 3");
+  }
+
+  /*
+    Runs sweeps that keep the machines of a BatchEmulator in lockstep and sweeps that make them diverge, first
+    for a few cycles and then to the end, and compares every machine with a MicroOpEmulator.
+  */
+  private static void checkBatch(short[] mult, short[] fill){
+    int machines = 3 * BatchEmulator.LANES + 5;
+    checkBatch("Mult lockstep", mult, machines, machine -> new int[]{0, 50, 1, machine}, new long[]{100, Long.MAX_VALUE},
+        false);
+    checkBatch("Mult diverging", mult, machines, machine -> new int[]{0, machine % 37, 1, 3 + machine},
+        new long[]{30, 200, Long.MAX_VALUE}, true);
+    checkBatch("Fill with some keys down", fill, machines,
+        machine -> new int[]{HackDevices.KBD, machine % 3 == 0 ? 0 : machine}, new long[]{1000, 200_000}, true);
+  }
+
+  private static void checkBatch(String name, short[] program, int machines, IntFunction<int[]> pokes, long[] slices,
+      boolean diverges){
+    BatchEmulator batch = new BatchEmulator(program, machines);
+    HackEmulator[] scalar = new HackEmulator[machines];
+    for (int machine = 0; machine < machines; machine++){
+      scalar[machine] = new MicroOpEmulator();
+      scalar[machine].load(program);
+      int[] words = pokes.apply(machine);
+      for (int i = 0; i < words.length; i += 2){
+        batch.poke(machine, words[i], words[i + 1]);
+        scalar[machine].poke(words[i], words[i + 1]);
+      }
+    }
+    for (long slice : slices){
+      batch.run(slice);
+      for (int machine = 0; machine < machines; machine++){
+        scalar[machine].run(slice);
+        String difference = batch.compare(machine, scalar[machine]);
+        check(difference == null, "BatchEmulator " + name + ": " + difference);
+      }
+    }
+    check(diverges == (batch.divergedMachines() > 0), "BatchEmulator " + name + ": " + batch.divergedMachines()
+        + " machines diverged");
+    check(batch.vectorCycles() > 0, "BatchEmulator " + name + ": no cycles ran in lockstep");
+  }
+
+  /*
+    The profile counts every executed instruction once.
+  */
+  private static void checkProfiler(short[] mult){
+    HackProfiler profiler = new HackProfiler();
+    profiler.load(mult);
+    profiler.poke(0, 12);
+    profiler.poke(1, 5);
+    profiler.run(Long.MAX_VALUE);
+    long total = 0;
+    for (long count : profiler.counts()){
+      total += count;
+    }
+    check(total == profiler.cycles(), "HackProfiler counts " + total + " instructions in " + profiler.cycles() + " cycles");
+  }
+
+  /*
+    Mult with a trigger on the third addition to R2 stops right after it, and the dump holds the accesses to
+    R0 to R2 up to then: the reads of R0 and R1, the write of 0 to R2, then a read and a write of R2 for each
+    addition.
+  */
+  private static void checkTracer(short[] mult, Path work) throws IOException{
+    HackTracer tracer = new HackTracer(4);
+    tracer.load(mult);
+    tracer.watch(0, 2);
+    tracer.triggerOnWrite(2, 27);
+    tracer.poke(0, 7);
+    tracer.poke(1, 9);
+    tracer.run(Long.MAX_VALUE);
+    check(tracer.triggered() && !tracer.halted() && tracer.peek(2) == 27, "HackTracer did not stop at the write of 27 to R2");
+    check(tracer.recorded() == 9, "HackTracer recorded " + tracer.recorded() + " accesses instead of 9");
+
+    String trace = work.resolve("trace.bin").toString();
+    tracer.dump(trace);
+    try (DataInputStream input = new DataInputStream(new FileInputStream(trace))){
+      check(input.readInt() == HackTracer.MAGIC && input.readInt() == HackTracer.VERSION, "HackTracer dump has no header");
+      check(input.readLong() == 9, "HackTracer dump does not count the accesses");
+      int count = input.readInt();
+      check(count == 4, "HackTracer dump holds " + count + " records instead of the capacity of 4");
+      long lastCycle = -1;
+      int address = -1, value = -1, write = -1;
+      for (int i = 0; i < count; i++){
+        long cycle = input.readLong();
+        check(cycle >= lastCycle, "HackTracer dump is not in cycle order");
+        lastCycle = cycle;
+        input.readShort();
+        address = input.readShort();
+        value = input.readShort();
+        write = input.readByte();
+        input.readByte();
+      }
+      check(address == 2 && value == 27 && write == 1, "HackTracer dump does not end with the write of 27 to R2");
+    }
+  }
+
+  /*
+    Fill turns the screen black while a key is held down and white after it is released.
+  */
+  private static void checkDevices(short[] fill){
+    MicroOpEmulator cpu = new MicroOpEmulator();
+    cpu.load(fill);
+    long[] changedRows = new long[1];
+    HackDevices devices = new HackDevices(cpu, (frameDevices, dirtyRows) -> {
+      for (long rows : dirtyRows){
+        changedRows[0] += Long.bitCount(rows);
+      }
+    });
+    devices.press(75);
+    for (int frame = 0; frame < 3; frame++){
+      devices.runFrame(200_000);
+    }
+    check(devices.pixel(0, 0) && devices.pixel(511, 255), "HackDevices: Fill left the screen white with a key down");
+    check(changedRows[0] == devices.redrawnRows() && changedRows[0] >= HackDevices.ROWS, "HackDevices: "
+        + changedRows[0] + " rows were handed to the sink, " + devices.redrawnRows() + " counted as redrawn");
+
+    devices.release();
+    for (int frame = 0; frame < 3; frame++){
+      devices.runFrame(200_000);
+    }
+    check(!devices.pixel(0, 0) && !devices.pixel(511, 255), "HackDevices: Fill left the screen black without a key");
+    long published = devices.publishedFrames();
+    devices.runFrame(200_000);
+    check(devices.publishedFrames() == published, "HackDevices published a frame in which the screen did not change");
+  }
+
+  /*
+    Takes two checkpoints of a run, then simulates a crash in the middle of a third one by writing garbage into
+    the slot it would have written. Opening the snapshot has to restore the second checkpoint, into an emulator
+    of another engine, which then runs on exactly like the original.
+  */
+  private static void checkSnapshot(short[] mult, Path work) throws IOException{
+    String path = work.resolve("check.snapshot").toString();
+    HackEmulator original = new MicroOpEmulator();
+    HackEmulator expected = new HackEmulator();
+    for (HackEmulator emulator : new HackEmulator[]{original, expected}){
+      emulator.load(mult);
+      emulator.poke(0, 300);
+      emulator.poke(1, 11);
+    }
+
+    try (HackSnapshot snapshot = HackSnapshot.create(path)){
+      original.run(500);
+      snapshot.checkpoint(original);
+      original.run(300);
+      snapshot.checkpoint(original);
+      original.run(Long.MAX_VALUE);
+    }
+    expected.run(800);
+
+    try (RandomAccessFile file = new RandomAccessFile(path, "rw")){
+      // The second checkpoint went into slot 0, an interrupted third one would have been writing slot 1.
+      byte[] garbage = new byte[HackSnapshot.HEADER_SIZE + 4 * HackSnapshot.PAGE_WORDS];
+      new Random(1).nextBytes(garbage);
+      file.seek(HackSnapshot.HEADER_SIZE + HackSnapshot.SLOT_SIZE);
+      file.write(garbage);
+      file.seek(HackSnapshot.HEADER_SIZE + 2L * HackSnapshot.SLOT_SIZE - garbage.length);
+      file.write(garbage);
+    }
+
+    try (HackSnapshot snapshot = HackSnapshot.open(path)){
+      check(snapshot.checkpoints() == 2 && snapshot.cycles() == 800, "HackSnapshot holds " + snapshot.checkpoints()
+          + " checkpoints ending at cycle " + snapshot.cycles() + " instead of 2 ending at 800");
+      HackEmulator restored = new TieredEmulator();
+      snapshot.restore(restored);
+      String difference = HackEmulator.compare(expected, restored);
+      check(difference == null, "HackSnapshot restored a different state: " + difference);
+
+      expected.run(Long.MAX_VALUE);
+      restored.run(Long.MAX_VALUE);
+      difference = HackEmulator.compare(expected, restored);
+      check(difference == null && restored.peek(2) == 3300, "HackSnapshot: the restored run ends differently: " + difference);
+
+      // Restoring again into the emulator that ran on copies back only what changed.
+      snapshot.restore(restored);
+      expected = new HackEmulator();
+      expected.load(mult);
+      expected.poke(0, 300);
+      expected.poke(1, 11);
+      expected.run(800);
+      difference = HackEmulator.compare(expected, restored);
+      check(difference == null, "HackSnapshot: restoring a second time gives a different state: " + difference);
+    }
+  }
+}
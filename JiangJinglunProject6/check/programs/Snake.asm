@@ -0,0 +1,17799 @@
+// Bootstrap code
+@256
+D=A
+@SP
+M=D
+
+//push return address
+@RETURN_ADDRESS_0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@0
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Sys.init
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_0)
+(Snake.new)
+// push constant 12
+@12
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Memory.alloc
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_1)
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push constant 5
+@5
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 3
+@THIS
+D=M
+@3
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 5
+@5
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 4
+@THIS
+D=M
+@4
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 5
+@5
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 2
+@THIS
+D=M
+@2
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 1
+@THIS
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_2
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Array.new
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_2)
+// pop this 0
+@THIS
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 100
+@100
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 5
+@THIS
+D=M
+@5
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 100
+@100
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 6
+@THIS
+D=M
+@6
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 15
+@15
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 7
+@THIS
+D=M
+@7
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 25
+@25
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 8
+@THIS
+D=M
+@8
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 20
+@20
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 9
+@THIS
+D=M
+@9
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 40
+@40
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 10
+@THIS
+D=M
+@10
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_3
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.createFirst
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_3)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_4
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.draw
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_4)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_5
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.setInitScore
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_5)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_6
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.drawPellet
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_6)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(Snake.createFirst)
+
+//Initialize function
+@4
+D=A
+(InitializeSnake.createFirst4)
+@SP
+A=M
+M=0
+@SP
+M=M+1
+D=D-1
+@InitializeSnake.createFirst4
+D;JNE
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push constant 20
+@20
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 20
+@20
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 1
+@LCL
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 4
+@4
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 2
+@LCL
+D=M
+@2
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 3
+@LCL
+D=M
+@3
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(WHILE_EXP0)
+// push local 3
+@LCL
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// lt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@LESS_THAN0
+D;JLT
+@SP
+A=M-1
+M=0
+(LESS_THAN0)
+// not
+@SP
+A=M-1
+M=!M
+@SP
+AM=M-1
+D=M
+@WHILE_END0
+D;JNE
+// push local 3
+@LCL
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push local 3
+@LCL
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push constant 2
+@2
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_7
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Math.multiply
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_7)
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_8
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Math.multiply
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_8)
+// push local 1
+@LCL
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push local 2
+@LCL
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_9
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.new
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_9)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// pop pointer 1
+@SP
+AM=M-1
+D=M
+@THAT
+M=D
+// push temp 0
+@5
+D=A
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop that 0
+@THAT
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 3
+@LCL
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop local 3
+@LCL
+D=M
+@3
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+@WHILE_EXP0
+0;JMP
+(WHILE_END0)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(Snake.move)
+
+//Initialize function
+@11
+D=A
+(InitializeSnake.move11)
+@SP
+A=M
+M=0
+@SP
+M=M+1
+D=D-1
+@InitializeSnake.move11
+D;JNE
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_10
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.checkGameEnd
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_10)
+// pop local 9
+@LCL
+D=M
+@9
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 9
+@LCL
+D=M
+@9
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+@SP
+AM=M-1
+D=M
+@IF_TRUE0
+D;JNE
+@IF_FALSE0
+0;JMP
+(IF_TRUE0)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(IF_FALSE0)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop pointer 1
+@SP
+AM=M-1
+D=M
+@THAT
+M=D
+// push that 0
+@THAT
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 2
+@LCL
+D=M
+@2
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 2
+@LCL
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_11
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.getDirection
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_11)
+// pop local 5
+@LCL
+D=M
+@5
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push local 5
+@LCL
+D=M
+@5
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_12
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@3
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.movable
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_12)
+// pop local 8
+@LCL
+D=M
+@8
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 8
+@LCL
+D=M
+@8
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+@SP
+AM=M-1
+D=M
+@IF_TRUE1
+D;JNE
+@IF_FALSE1
+0;JMP
+(IF_TRUE1)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(IF_FALSE1)
+(WHILE_EXP0)
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// lt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@LESS_THAN1
+D;JLT
+@SP
+A=M-1
+M=0
+(LESS_THAN1)
+// not
+@SP
+A=M-1
+M=!M
+@SP
+AM=M-1
+D=M
+@WHILE_END0
+D;JNE
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop pointer 1
+@SP
+AM=M-1
+D=M
+@THAT
+M=D
+// push that 0
+@THAT
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 3
+@LCL
+D=M
+@3
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop pointer 1
+@SP
+AM=M-1
+D=M
+@THAT
+M=D
+// push that 0
+@THAT
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 4
+@LCL
+D=M
+@4
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 4
+@LCL
+D=M
+@4
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_13
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.getDirection
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_13)
+// pop local 1
+@LCL
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 3
+@LCL
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push local 1
+@LCL
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_14
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.setDirection
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_14)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+@WHILE_EXP0
+0;JMP
+(WHILE_END0)
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL2
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL2)
+// not
+@SP
+A=M-1
+M=!M
+@SP
+AM=M-1
+D=M
+@IF_TRUE2
+D;JNE
+@IF_FALSE2
+0;JMP
+(IF_TRUE2)
+// push local 2
+@LCL
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_15
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.setDirection
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_15)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE2)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(WHILE_EXP1)
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// lt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@LESS_THAN3
+D;JLT
+@SP
+A=M-1
+M=0
+(LESS_THAN3)
+// not
+@SP
+A=M-1
+M=!M
+@SP
+AM=M-1
+D=M
+@WHILE_END1
+D;JNE
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop pointer 1
+@SP
+AM=M-1
+D=M
+@THAT
+M=D
+// push that 0
+@THAT
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 3
+@LCL
+D=M
+@3
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 3
+@LCL
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_16
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.move
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_16)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+@WHILE_EXP1
+0;JMP
+(WHILE_END1)
+// push local 2
+@LCL
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_17
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.getX
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_17)
+// pop local 6
+@LCL
+D=M
+@6
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 2
+@LCL
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_18
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.getY
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_18)
+// pop local 7
+@LCL
+D=M
+@7
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 6
+@LCL
+D=M
+@6
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 5
+@THIS
+D=M
+@5
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// lt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@LESS_THAN4
+D;JLT
+@SP
+A=M-1
+M=0
+(LESS_THAN4)
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push local 6
+@LCL
+D=M
+@6
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 5
+@THIS
+D=M
+@5
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// gt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@GREATER_THAN5
+D;JGT
+@SP
+A=M-1
+M=0
+(GREATER_THAN5)
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// and
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D&M
+// push local 7
+@LCL
+D=M
+@7
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 6
+@THIS
+D=M
+@6
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// gt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@GREATER_THAN6
+D;JGT
+@SP
+A=M-1
+M=0
+(GREATER_THAN6)
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// and
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D&M
+// push local 7
+@LCL
+D=M
+@7
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 6
+@THIS
+D=M
+@6
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// lt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@LESS_THAN7
+D;JLT
+@SP
+A=M-1
+M=0
+(LESS_THAN7)
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// and
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D&M
+@SP
+AM=M-1
+D=M
+@IF_TRUE3
+D;JNE
+@IF_FALSE3
+0;JMP
+(IF_TRUE3)
+// push local 2
+@LCL
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_19
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.getDirection
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_19)
+// pop local 5
+@LCL
+D=M
+@5
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push local 5
+@LCL
+D=M
+@5
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push local 6
+@LCL
+D=M
+@6
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push local 7
+@LCL
+D=M
+@7
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_20
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.eat
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_20)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_21
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.increaseScore
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_21)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE3)
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_22
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.draw
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_22)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 75
+@75
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_23
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Sys.wait
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_23)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(Snake.movable)
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push argument 2
+@ARG
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL8
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL8)
+@SP
+AM=M-1
+D=M
+@IF_TRUE0
+D;JNE
+@IF_FALSE0
+0;JMP
+(IF_TRUE0)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(IF_FALSE0)
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push argument 2
+@ARG
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL9
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL9)
+@SP
+AM=M-1
+D=M
+@IF_TRUE1
+D;JNE
+@IF_FALSE1
+0;JMP
+(IF_TRUE1)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(IF_FALSE1)
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push argument 2
+@ARG
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push constant 3
+@3
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL10
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL10)
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push argument 2
+@ARG
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push constant 7
+@7
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL11
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL11)
+// or
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D|M
+@SP
+AM=M-1
+D=M
+@IF_TRUE2
+D;JNE
+@IF_FALSE2
+0;JMP
+(IF_TRUE2)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(IF_FALSE2)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(Snake.eat)
+
+//Initialize function
+@3
+D=A
+(InitializeSnake.eat3)
+@SP
+A=M
+M=0
+@SP
+M=M+1
+D=D-1
+@InitializeSnake.eat3
+D;JNE
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_24
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.erasePellet
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_24)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// lt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@LESS_THAN12
+D;JLT
+@SP
+A=M-1
+M=0
+(LESS_THAN12)
+@SP
+AM=M-1
+D=M
+@IF_TRUE0
+D;JNE
+@IF_FALSE0
+0;JMP
+(IF_TRUE0)
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL13
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL13)
+@SP
+AM=M-1
+D=M
+@IF_TRUE1
+D;JNE
+@IF_FALSE1
+0;JMP
+(IF_TRUE1)
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push argument 2
+@ARG
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push argument 3
+@ARG
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 2
+@2
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_25
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Math.multiply
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_25)
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_26
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.new
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_26)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// pop pointer 1
+@SP
+AM=M-1
+D=M
+@THAT
+M=D
+// push temp 0
+@5
+D=A
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop that 0
+@THAT
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE1)
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 2
+@2
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL14
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL14)
+@SP
+AM=M-1
+D=M
+@IF_TRUE2
+D;JNE
+@IF_FALSE2
+0;JMP
+(IF_TRUE2)
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push argument 2
+@ARG
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push argument 3
+@ARG
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 2
+@2
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_27
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Math.multiply
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_27)
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_28
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.new
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_28)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// pop pointer 1
+@SP
+AM=M-1
+D=M
+@THAT
+M=D
+// push temp 0
+@5
+D=A
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop that 0
+@THAT
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE2)
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 3
+@3
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL15
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL15)
+@SP
+AM=M-1
+D=M
+@IF_TRUE3
+D;JNE
+@IF_FALSE3
+0;JMP
+(IF_TRUE3)
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push argument 2
+@ARG
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 2
+@2
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_29
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Math.multiply
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_29)
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// push argument 3
+@ARG
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_30
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.new
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_30)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// pop pointer 1
+@SP
+AM=M-1
+D=M
+@THAT
+M=D
+// push temp 0
+@5
+D=A
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop that 0
+@THAT
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE3)
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 4
+@4
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL16
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL16)
+@SP
+AM=M-1
+D=M
+@IF_TRUE4
+D;JNE
+@IF_FALSE4
+0;JMP
+(IF_TRUE4)
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push argument 2
+@ARG
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 2
+@2
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_31
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Math.multiply
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_31)
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push argument 3
+@ARG
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_32
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.new
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_32)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// pop pointer 1
+@SP
+AM=M-1
+D=M
+@THAT
+M=D
+// push temp 0
+@5
+D=A
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop that 0
+@THAT
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE4)
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop this 2
+@THIS
+D=M
+@2
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+@IF_END0
+0;JMP
+(IF_FALSE0)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(IF_END0)
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_33
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.drawPellet
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_33)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(Snake.checkGameEnd)
+
+//Initialize function
+@3
+D=A
+(InitializeSnake.checkGameEnd3)
+@SP
+A=M
+M=0
+@SP
+M=M+1
+D=D-1
+@InitializeSnake.checkGameEnd3
+D;JNE
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop pointer 1
+@SP
+AM=M-1
+D=M
+@THAT
+M=D
+// push that 0
+@THAT
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_34
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.getX
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_34)
+// pop local 1
+@LCL
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_35
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.getY
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_35)
+// pop local 2
+@LCL
+D=M
+@2
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 1
+@LCL
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 15
+@15
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// lt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@LESS_THAN17
+D;JLT
+@SP
+A=M-1
+M=0
+(LESS_THAN17)
+// push local 1
+@LCL
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 496
+@496
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// gt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@GREATER_THAN18
+D;JGT
+@SP
+A=M-1
+M=0
+(GREATER_THAN18)
+// or
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D|M
+// push local 2
+@LCL
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 15
+@15
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// lt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@LESS_THAN19
+D;JLT
+@SP
+A=M-1
+M=0
+(LESS_THAN19)
+// or
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D|M
+// push local 2
+@LCL
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 245
+@245
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// gt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@GREATER_THAN20
+D;JGT
+@SP
+A=M-1
+M=0
+(GREATER_THAN20)
+// or
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D|M
+@SP
+AM=M-1
+D=M
+@IF_TRUE0
+D;JNE
+@IF_FALSE0
+0;JMP
+(IF_TRUE0)
+
+//push return address
+@RETURN_ADDRESS_36
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@0
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.clearScreen
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_36)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 20
+@20
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 20
+@20
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_37
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Output.moveCursor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_37)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 10
+@10
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_38
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.new
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_38)
+// push constant 71
+@71
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_39
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_39)
+// push constant 97
+@97
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_40
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_40)
+// push constant 109
+@109
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_41
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_41)
+// push constant 101
+@101
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_42
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_42)
+// push constant 32
+@32
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_43
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_43)
+// push constant 79
+@79
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_44
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_44)
+// push constant 118
+@118
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_45
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_45)
+// push constant 101
+@101
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_46
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_46)
+// push constant 114
+@114
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_47
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_47)
+// push constant 46
+@46
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_48
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_48)
+
+//push return address
+@RETURN_ADDRESS_49
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Output.printString
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_49)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(IF_FALSE0)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(Snake.drawPellet)
+
+//Initialize function
+@2
+D=A
+(InitializeSnake.drawPellet2)
+@SP
+A=M
+M=0
+@SP
+M=M+1
+D=D-1
+@InitializeSnake.drawPellet2
+D;JNE
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push this 9
+@THIS
+D=M
+@9
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 7
+@THIS
+D=M
+@7
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_50
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Math.multiply
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_50)
+// push this 10
+@THIS
+D=M
+@10
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 480
+@480
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_51
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Math.divide
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_51)
+// push constant 480
+@480
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_52
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Math.multiply
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_52)
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// pop this 5
+@THIS
+D=M
+@5
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 5
+@THIS
+D=M
+@5
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 7
+@THIS
+D=M
+@7
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 9
+@THIS
+D=M
+@9
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 8
+@THIS
+D=M
+@8
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_53
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Math.multiply
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_53)
+// push this 10
+@THIS
+D=M
+@10
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop local 1
+@LCL
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 1
+@LCL
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push local 1
+@LCL
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 240
+@240
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_54
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Math.divide
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_54)
+// push constant 240
+@240
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_55
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Math.multiply
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_55)
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// pop this 6
+@THIS
+D=M
+@6
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 6
+@THIS
+D=M
+@6
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 8
+@THIS
+D=M
+@8
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+
+//push return address
+@RETURN_ADDRESS_56
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.setColor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_56)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 5
+@THIS
+D=M
+@5
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 6
+@THIS
+D=M
+@6
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 5
+@THIS
+D=M
+@5
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 4
+@THIS
+D=M
+@4
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 6
+@THIS
+D=M
+@6
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+
+//push return address
+@RETURN_ADDRESS_57
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.drawRectangle
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_57)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(Snake.erasePellet)
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_58
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.setColor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_58)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 5
+@THIS
+D=M
+@5
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 6
+@THIS
+D=M
+@6
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 5
+@THIS
+D=M
+@5
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 4
+@THIS
+D=M
+@4
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 6
+@THIS
+D=M
+@6
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+
+//push return address
+@RETURN_ADDRESS_59
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.drawRectangle
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_59)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(Snake.draw)
+
+//Initialize function
+@2
+D=A
+(InitializeSnake.draw2)
+@SP
+A=M
+M=0
+@SP
+M=M+1
+D=D-1
+@InitializeSnake.draw2
+D;JNE
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 1
+@LCL
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(WHILE_EXP0)
+// push local 1
+@LCL
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// lt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@LESS_THAN21
+D;JLT
+@SP
+A=M-1
+M=0
+(LESS_THAN21)
+// not
+@SP
+A=M-1
+M=!M
+@SP
+AM=M-1
+D=M
+@WHILE_END0
+D;JNE
+// push local 1
+@LCL
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop pointer 1
+@SP
+AM=M-1
+D=M
+@THAT
+M=D
+// push that 0
+@THAT
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_60
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.draw
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_60)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 1
+@LCL
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop local 1
+@LCL
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+@WHILE_EXP0
+0;JMP
+(WHILE_END0)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(Snake.setInitScore)
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 11
+@THIS
+D=M
+@11
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_61
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Output.moveCursor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_61)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 7
+@7
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_62
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.new
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_62)
+// push constant 83
+@83
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_63
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_63)
+// push constant 99
+@99
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_64
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_64)
+// push constant 111
+@111
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_65
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_65)
+// push constant 114
+@114
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_66
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_66)
+// push constant 101
+@101
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_67
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_67)
+// push constant 58
+@58
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_68
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_68)
+// push constant 32
+@32
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_69
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_69)
+
+//push return address
+@RETURN_ADDRESS_70
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Output.printString
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_70)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 11
+@THIS
+D=M
+@11
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_71
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Output.printInt
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_71)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(Snake.increaseScore)
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push this 11
+@THIS
+D=M
+@11
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 5
+@5
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop this 11
+@THIS
+D=M
+@11
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_72
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Output.moveCursor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_72)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 7
+@7
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_73
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.new
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_73)
+// push constant 83
+@83
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_74
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_74)
+// push constant 99
+@99
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_75
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_75)
+// push constant 111
+@111
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_76
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_76)
+// push constant 114
+@114
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_77
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_77)
+// push constant 101
+@101
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_78
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_78)
+// push constant 58
+@58
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_79
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_79)
+// push constant 32
+@32
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_80
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@String.appendChar
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_80)
+
+//push return address
+@RETURN_ADDRESS_81
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Output.printString
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_81)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 11
+@THIS
+D=M
+@11
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_82
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Output.printInt
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_82)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(Snake.dispose)
+
+//Initialize function
+@2
+D=A
+(InitializeSnake.dispose2)
+@SP
+A=M
+M=0
+@SP
+M=M+1
+D=D-1
+@InitializeSnake.dispose2
+D;JNE
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(WHILE_EXP0)
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// lt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@LESS_THAN22
+D;JLT
+@SP
+A=M-1
+M=0
+(LESS_THAN22)
+// not
+@SP
+A=M-1
+M=!M
+@SP
+AM=M-1
+D=M
+@WHILE_END0
+D;JNE
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop pointer 1
+@SP
+AM=M-1
+D=M
+@THAT
+M=D
+// push that 0
+@THAT
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 1
+@LCL
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 1
+@LCL
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_83
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.dispose
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_83)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+@WHILE_EXP0
+0;JMP
+(WHILE_END0)
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_84
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Memory.deAlloc
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_84)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_85
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Memory.deAlloc
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_85)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(SnakeGame.new)
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_86
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Memory.alloc
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_86)
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push constant 20
+@20
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_87
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.new
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_87)
+// pop this 0
+@THIS
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(SnakeGame.run)
+
+//Initialize function
+@4
+D=A
+(InitializeSnakeGame.run4)
+@SP
+A=M
+M=0
+@SP
+M=M+1
+D=D-1
+@InitializeSnakeGame.run4
+D;JNE
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 3
+@LCL
+D=M
+@3
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(WHILE_EXP0)
+// push local 3
+@LCL
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL23
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL23)
+// and
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D&M
+// not
+@SP
+A=M-1
+M=!M
+@SP
+AM=M-1
+D=M
+@WHILE_END0
+D;JNE
+
+//push return address
+@RETURN_ADDRESS_88
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@0
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Keyboard.keyPressed
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_88)
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_89
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.move
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_89)
+// pop local 2
+@LCL
+D=M
+@2
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 2
+@LCL
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+@SP
+AM=M-1
+D=M
+@IF_TRUE0
+D;JNE
+@IF_FALSE0
+0;JMP
+(IF_TRUE0)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// pop local 3
+@LCL
+D=M
+@3
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(IF_FALSE0)
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 81
+@81
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL24
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL24)
+@SP
+AM=M-1
+D=M
+@IF_TRUE1
+D;JNE
+@IF_FALSE1
+0;JMP
+(IF_TRUE1)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// pop local 3
+@LCL
+D=M
+@3
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE1)
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 131
+@131
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL25
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL25)
+@SP
+AM=M-1
+D=M
+@IF_TRUE2
+D;JNE
+@IF_FALSE2
+0;JMP
+(IF_TRUE2)
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 1
+@LCL
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE2)
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 133
+@133
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL26
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL26)
+@SP
+AM=M-1
+D=M
+@IF_TRUE3
+D;JNE
+@IF_FALSE3
+0;JMP
+(IF_TRUE3)
+// push constant 2
+@2
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 1
+@LCL
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE3)
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 130
+@130
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL27
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL27)
+@SP
+AM=M-1
+D=M
+@IF_TRUE4
+D;JNE
+@IF_FALSE4
+0;JMP
+(IF_TRUE4)
+// push constant 3
+@3
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 1
+@LCL
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE4)
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 132
+@132
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL28
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL28)
+@SP
+AM=M-1
+D=M
+@IF_TRUE5
+D;JNE
+@IF_FALSE5
+0;JMP
+(IF_TRUE5)
+// push constant 4
+@4
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop local 1
+@LCL
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE5)
+(WHILE_EXP1)
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL29
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL29)
+// not
+@SP
+A=M-1
+M=!M
+// not
+@SP
+A=M-1
+M=!M
+@SP
+AM=M-1
+D=M
+@WHILE_END1
+D;JNE
+
+//push return address
+@RETURN_ADDRESS_90
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@0
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Keyboard.keyPressed
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_90)
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push local 1
+@LCL
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_91
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@2
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.move
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_91)
+// pop local 2
+@LCL
+D=M
+@2
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 2
+@LCL
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+@SP
+AM=M-1
+D=M
+@IF_TRUE6
+D;JNE
+@IF_FALSE6
+0;JMP
+(IF_TRUE6)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// pop local 3
+@LCL
+D=M
+@3
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE6)
+@WHILE_EXP1
+0;JMP
+(WHILE_END1)
+@WHILE_EXP0
+0;JMP
+(WHILE_END0)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(SnakeGame.dispose)
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_92
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Snake.dispose
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_92)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_93
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Memory.deAlloc
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_93)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(Main.main)
+
+//Initialize function
+@1
+D=A
+(InitializeMain.main1)
+@SP
+A=M
+M=0
+@SP
+M=M+1
+D=D-1
+@InitializeMain.main1
+D;JNE
+
+//push return address
+@RETURN_ADDRESS_94
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@0
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakeGame.new
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_94)
+// pop local 0
+@LCL
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push local 0
+@LCL
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_95
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakeGame.run
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_95)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(SnakePart.new)
+// push constant 4
+@4
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_96
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Memory.alloc
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_96)
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 0
+@THIS
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 1
+@THIS
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push argument 2
+@ARG
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 3
+@THIS
+D=M
+@3
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push argument 3
+@ARG
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 2
+@THIS
+D=M
+@2
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_97
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@SnakePart.draw
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_97)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(SnakePart.draw)
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+
+//push return address
+@RETURN_ADDRESS_98
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.setColor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_98)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+
+//push return address
+@RETURN_ADDRESS_99
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.drawRectangle
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_99)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(SnakePart.move)
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 1
+@1
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL30
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL30)
+@SP
+AM=M-1
+D=M
+@IF_TRUE0
+D;JNE
+@IF_FALSE0
+0;JMP
+(IF_TRUE0)
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// push constant 10
+@10
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// gt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@GREATER_THAN31
+D;JGT
+@SP
+A=M-1
+M=0
+(GREATER_THAN31)
+@SP
+AM=M-1
+D=M
+@IF_TRUE1
+D;JNE
+@IF_FALSE1
+0;JMP
+(IF_TRUE1)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_100
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.setColor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_100)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+
+//push return address
+@RETURN_ADDRESS_101
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.drawRectangle
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_101)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 10
+@10
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// pop this 1
+@THIS
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+
+//push return address
+@RETURN_ADDRESS_102
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.setColor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_102)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+
+//push return address
+@RETURN_ADDRESS_103
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.drawRectangle
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_103)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE1)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(IF_FALSE0)
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 2
+@2
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL32
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL32)
+@SP
+AM=M-1
+D=M
+@IF_TRUE2
+D;JNE
+@IF_FALSE2
+0;JMP
+(IF_TRUE2)
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push constant 250
+@250
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// lt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@LESS_THAN33
+D;JLT
+@SP
+A=M-1
+M=0
+(LESS_THAN33)
+@SP
+AM=M-1
+D=M
+@IF_TRUE3
+D;JNE
+@IF_FALSE3
+0;JMP
+(IF_TRUE3)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_104
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.setColor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_104)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+
+//push return address
+@RETURN_ADDRESS_105
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.drawRectangle
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_105)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 10
+@10
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop this 1
+@THIS
+D=M
+@1
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+
+//push return address
+@RETURN_ADDRESS_106
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.setColor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_106)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+
+//push return address
+@RETURN_ADDRESS_107
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.drawRectangle
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_107)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE3)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(IF_FALSE2)
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 3
+@3
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL34
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL34)
+@SP
+AM=M-1
+D=M
+@IF_TRUE4
+D;JNE
+@IF_FALSE4
+0;JMP
+(IF_TRUE4)
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// push constant 10
+@10
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// gt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@GREATER_THAN35
+D;JGT
+@SP
+A=M-1
+M=0
+(GREATER_THAN35)
+@SP
+AM=M-1
+D=M
+@IF_TRUE5
+D;JNE
+@IF_FALSE5
+0;JMP
+(IF_TRUE5)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_108
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.setColor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_108)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+
+//push return address
+@RETURN_ADDRESS_109
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.drawRectangle
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_109)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 10
+@10
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// sub
+@SP
+AM=M-1
+D=M
+A=A-1
+M=M-D
+// pop this 0
+@THIS
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+
+//push return address
+@RETURN_ADDRESS_110
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.setColor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_110)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+
+//push return address
+@RETURN_ADDRESS_111
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.drawRectangle
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_111)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE5)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(IF_FALSE4)
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 4
+@4
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// eq
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@EQUAL36
+D;JEQ
+@SP
+A=M-1
+M=0
+(EQUAL36)
+@SP
+AM=M-1
+D=M
+@IF_TRUE6
+D;JNE
+@IF_FALSE6
+0;JMP
+(IF_TRUE6)
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push constant 501
+@501
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// lt
+@SP
+AM=M-1
+D=M
+A=A-1
+D=M-D
+M=-1
+@LESS_THAN37
+D;JLT
+@SP
+A=M-1
+M=0
+(LESS_THAN37)
+@SP
+AM=M-1
+D=M
+@IF_TRUE7
+D;JNE
+@IF_FALSE7
+0;JMP
+(IF_TRUE7)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_112
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.setColor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_112)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+
+//push return address
+@RETURN_ADDRESS_113
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.drawRectangle
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_113)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push constant 10
+@10
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// pop this 0
+@THIS
+D=M
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+
+//push return address
+@RETURN_ADDRESS_114
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.setColor
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_114)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// push this 3
+@THIS
+D=M
+@3
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// add
+@SP
+AM=M-1
+D=M
+A=A-1
+M=D+M
+
+//push return address
+@RETURN_ADDRESS_115
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@4
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Screen.drawRectangle
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_115)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+(IF_FALSE7)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// not
+@SP
+A=M-1
+M=!M
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(IF_FALSE6)
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(SnakePart.getDirection)
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push this 2
+@THIS
+D=M
+@2
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(SnakePart.getX)
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push this 0
+@THIS
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(SnakePart.getY)
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push this 1
+@THIS
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(SnakePart.setDirection)
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push argument 1
+@ARG
+D=M
+@1
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop this 2
+@THIS
+D=M
+@2
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
+(SnakePart.dispose)
+// push argument 0
+@ARG
+D=M
+@0
+A=A+D
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// pop pointer 0
+@SP
+AM=M-1
+D=M
+@THIS
+M=D
+// push pointer 0
+@THIS
+D=M
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+//push return address
+@RETURN_ADDRESS_116
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+
+// pushLCL
+@LCL
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushARG
+@ARG
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHIS
+@THIS
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// pushTHAT
+@THAT
+D=M
+@SP
+AM=M+1
+A=A-1
+M=D
+
+// ARG = SP - n - 5
+@SP
+D=M
+@5
+D=D-A
+@1
+D=D-A
+@ARG
+M=D
+
+// LCL = SP
+@SP
+D=M
+@LCL
+M=D
+
+// goto f
+@Memory.deAlloc
+0;JMP
+
+// set return address
+(RETURN_ADDRESS_116)
+// pop temp 0
+@5
+D=A
+@0
+D=D+A
+@13
+M=D
+@SP
+AM=M-1
+D=M
+@13
+A=M
+M=D
+// push constant 0
+@0
+D=A
+@SP
+A=M
+M=D
+@SP
+M=M+1
+// FRAME = LCL
+@LCL
+D=M
+@FRAME
+M=D
+
+// RET = *(FRAME - 5)
+@FRAME
+D=M
+@5
+A=D-A
+D=M
+@RET
+M=D
+
+// *ARG = pop()
+@SP
+AM=M-1
+D=M
+@ARG
+A=M
+M=D
+
+// SP = ARG + 1
+@ARG
+D=M+1
+@SP
+M=D
+
+// THAT = *(FRAME - 1)
+@FRAME
+A=M-1
+D=M
+@THAT
+M=D
+
+// THAT = *(FRAME - 1)
+@2
+D=A
+@FRAME
+A=M-D
+D=M
+@THIS
+M=D
+
+// ARG = *(FRAME - 3)
+@3
+D=A
+@FRAME
+A=M-D
+D=M
+@ARG
+M=D
+
+// LCL = *(FRAME - 4)
+@4
+D=A
+@FRAME
+A=M-D
+D=M
+@LCL
+M=D
+
+// goto RET
+@RET
+A=M
+0;JMP
@@ -1,7 +1,12 @@
 import java.util.*;
+import java.util.concurrent.*;
 import java.io.*;
+import java.nio.ByteOrder;
 
 public class Assembler{
+
+  // Part of the AssemblyCache key, change it whenever the output for the same source changes.
+  public static final String VERSION = "2";
   
   private static final Map<String, String> compTable = new HashMap<String, String>(){{
     put("0", "0101010");
@@ -65,7 +70,7 @@ public class Assembler{
     put("JMP", "111");
   }};
 
-  private static final Map<String, Integer> symbolTable = new HashMap<String, Integer>(){{
+  private static final Map<String, Integer> predefinedSymbols = new HashMap<String, Integer>(){{
     put("SP", 0);
     put("LCL", 1);
     put("ARG", 2);
@@ -78,161 +83,820 @@ public class Assembler{
     }
 }};
 
-  static int availableAddress = 16;
+  // Labels and variables of the current run, so separate Assembler instances never share state.
+  private final SymbolTable symbolTable = new SymbolTable();
+
+  private int availableAddress = 16;
+
+  // Instructions the PeepholeOptimizer removed in the last run.
+  private int removedInstructions = 0;
+
+  private AssemblerStats stats = null;
+
+  public Assembler(){
+    reset();
+  }
+
+  /*
+    Int-coded copies of the compTable, destTable and jumpTable.
+    A mnemonic of up to three characters is packed into one int key, so looking it up needs no String.
+  */
+  private static final class CodeTable{
+    private final int[] keys = new int[128];
+    private final short[] codes = new short[128];
+
+    CodeTable(Map<String, String> table){
+      for (Map.Entry<String, String> entry : table.entrySet()){
+        if (entry.getKey() != null){
+          String mnemonic = entry.getKey();
+          int slot = find(pack(mnemonic, 0, mnemonic.length()));
+          keys[slot] = pack(mnemonic, 0, mnemonic.length());
+          codes[slot] = (short) Integer.parseInt(entry.getValue(), 2);
+        }
+      }
+    }
+
+    // Packs the characters into one int, or returns -1 if the mnemonic is too long to be in any table.
+    static int pack(CharSequence text, int start, int end){
+      if (end - start > 3){
+        return -1;
+      }
+      int key = 0;
+      for (int i = end - 1; i >= start; i--){
+        key = (key << 8) | (text.charAt(i) & 0xFF);
+      }
+      return key;
+    }
+
+    private int find(int key){
+      int slot = (key * 0x9E3779B1) >>> 25;
+      while (keys[slot] != 0 && keys[slot] != key){
+        slot = (slot + 1) & 127;
+      }
+      return slot;
+    }
+
+    // Returns the code of the mnemonic, or -1 if it is unknown.
+    int get(CharSequence text, int start, int end){
+      int key = pack(text, start, end);
+      if (key <= 0){
+        return -1;
+      }
+      int slot = find(key);
+      return keys[slot] == key ? codes[slot] : -1;
+    }
+  }
+
+  private static final CodeTable compCodes = new CodeTable(compTable);
+
+  private static final CodeTable destCodes = new CodeTable(destTable);
+
+  private static final CodeTable jumpCodes = new CodeTable(jumpTable);
 
   public static List<String> commentRemover(List<String> lines){
 
     List<String> result = new ArrayList<>();
-    boolean inComment = false;
+    HackLexer cleaner = new HackLexer();
 
     for (String line : lines){
-      line = line.trim();
+      String finalLine = cleaner.cleanLine(line);
+      if (!finalLine.isEmpty()){
+        result.add(finalLine);
+      }
+    }
+    return result;
+  }
 
-      if (line.isEmpty()){
-        continue;
+  public void findLabels(List<String> lines){
+    int count = 0;
+    // Compact the instructions towards the front instead of removing each label, which keeps this linear.
+    for (int index = 0; index < lines.size(); index++){
+      String line = lines.get(index);
+      if (line.charAt(0) == '('){
+        symbolTable.put(line, 1, line.length() - 1, count);
+      }
+      else{
+        lines.set(count, line);
+        count++;
       }
+    }
+    lines.subList(count, lines.size()).clear();
+  }
 
-      StringBuilder newLine = new StringBuilder();
-      for (int i = 0; i < line.length(); i++){
-        if (line.charAt(i) == '/' && i + 1 < line.length() && line.charAt(i + 1) == '*'){
-          inComment = true;
-        }
-        else if (line.charAt(i) == '*' && i + 1 < line.length() && line.charAt(i + 1) == '/'){
-          inComment = false;
-          i++; // In order to skip the part of the comment.
-        }
-        else if (line.charAt(i) == '/' && i + 1 < line.length() && line.charAt(i + 1) == '/'){
-          if (i != 0){
-            newLine.append("\n");
+  /*
+    First pass of the streaming assembler: only records the address of every label.
+  */
+  private void recordLabels(InputStream source, SourceMap map) throws IOException{
+    int symbols = symbolTable.size();
+    if (stats != null){
+      stats.begin(AssemblerStats.LABEL_PASS);
+    }
+    try (InputStream input = source){
+      HackLexer line = new HackLexer(input);
+      int address = 0;
+      while (line.next()){
+        if (line.charAt(0) == '('){
+          symbolTable.put(line, 1, line.length() - 1, address);
+          if (map != null){
+            map.label(line.subSequence(1, line.length() - 1).toString(), address);
           }
-          break;
         }
-        else if (!inComment){
-          newLine.append(line.charAt(i));
+        else{
+          if (map != null){
+            map.instruction(address, line.lineNumber());
+          }
+          address++;
         }
       }
+      if (stats != null){
+        stats.end(line.bytesRead(), 0, symbolTable.size() - symbols);
+      }
+    }
+  }
 
-      String finalLine = newLine.toString().trim().replaceAll(" ", "");
-      if (!finalLine.isEmpty()){
-        result.add(finalLine);
+  /*
+    Runs only the label pass over a source and returns where its labels and instructions ended up in ROM.
+    The addresses are those of the unoptimized program.
+  */
+  public SourceMap sourceMap(Source source) throws IOException{
+    reset();
+    SourceMap map = new SourceMap(source.name());
+    recordLabels(source.open(), map);
+    return map;
+  }
+
+  /*
+    Second pass of the streaming assembler: encodes each instruction and writes it straight to the output.
+  */
+  private void writeInstructions(InputStream source, WordSink output) throws IOException{
+    int symbols = symbolTable.size();
+    if (stats != null){
+      stats.begin(AssemblerStats.ENCODING_PASS);
+    }
+    try (InputStream input = source){
+      HackLexer line = new HackLexer(input);
+      int instructions = 0;
+      while (line.next()){
+        if (line.charAt(0) != '('){
+          output.write(encode(line, line.lineNumber()));
+          instructions++;
+        }
+      }
+      if (stats != null){
+        stats.end(line.bytesRead(), instructions, symbolTable.size() - symbols);
       }
+    }
+  }
 
+  /*
+    Encodes a line and adds its line number to the error of an invalid instruction.
+  */
+  private short encode(CharSequence line, int lineNumber){
+    try{
+      return encode(line);
+    } catch (IllegalArgumentException e){
+      throw new IllegalArgumentException("line " + lineNumber + ": " + e.getMessage(), e);
     }
-    return result;
   }
 
-  public static void findLabels(List<String> lines){
-    int index = 0;
-    // Use the while loop to avoid modifying the list while looping through it.
-    while (index < lines.size()){
-      String line = lines.get(index);
-      if (line.charAt(0) == '('){
-        String label = line.substring(1, line.length() - 1);
-        symbolTable.put(label, index);
-        lines.remove(index);
+  /*
+    Gives every variable its address in order of first appearance, like the sequential encoder would.
+    Afterwards the symbol table is only read, so the instructions can be encoded in any order.
+  */
+  private void allocateVariables(List<String> instructions){
+    for (String line : instructions){
+      if (line.charAt(0) == '@' && parseNumber(line, 1, line.length()) < 0){
+        addressOf(line, 1, line.length());
+      }
+    }
+  }
+
+  public int removedInstructions(){
+    return removedInstructions;
+  }
+
+  /*
+    Encodes a range of the instructions, splitting it across the fork-join pool while it is large.
+  */
+  private class EncodeTask extends RecursiveAction{
+    private static final long serialVersionUID = 1L;
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private final List<String> instructions;
+    private final short[] words;
+    private final int from, to;
+
+    EncodeTask(List<String> instructions, short[] words, int from, int to){
+      this.instructions = instructions;
+      this.words = words;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute(){
+      if (to - from <= CHUNK_SIZE){
+        for (int i = from; i < to; i++){
+          words[i] = encode(instructions.get(i));
+        }
       }
       else{
-        index++;
+        int middle = (from + to) >>> 1;
+        invokeAll(new EncodeTask(instructions, words, from, middle), new EncodeTask(instructions, words, middle, to));
       }
     }
   }
 
-  public static String checkCompOrRegister(String line){
-    if(line.charAt(0) == '@'){
-      return aInstruction(line);
+  /*
+    Assembles a whole source in memory and returns its words.
+    With a pool, the symbols are resolved sequentially first and the encoding runs in parallel chunks,
+    which gives exactly the same words as the sequential run.
+  */
+  public short[] assembleWords(Source source, ForkJoinPool pool) throws IOException{
+    return assembleWords(source, pool, false);
+  }
+
+  /*
+    Same as assembleWords(source, pool), optionally running the PeepholeOptimizer before the encoding.
+    The variables get their addresses before the optimizer removes any instruction, so they keep the
+    addresses of the unoptimized program, and findLabels then gives the labels their new addresses.
+  */
+  public short[] assembleWords(Source source, ForkJoinPool pool, boolean optimize) throws IOException{
+    reset();
+    stats = new AssemblerStats(source.name());
+
+    stats.begin(AssemblerStats.READ);
+    byte[] bytes;
+    try (InputStream input = source.open()){
+      bytes = input.readAllBytes();
+    }
+    stats.end(bytes.length, 0, 0);
+
+    stats.begin(AssemblerStats.COMMENT_REMOVAL);
+    List<String> instructions = new ArrayList<>();
+    HackLexer line = new HackLexer(new ByteArrayInputStream(bytes));
+    while (line.next()){
+      instructions.add(line.toString());
+    }
+    stats.end(0, 0, 0);
+
+    stats.begin(AssemblerStats.LABEL_RESOLUTION);
+    int symbols = symbolTable.size();
+    if (optimize){
+      findLabels(new ArrayList<>(instructions)); // Only so that allocateVariables knows the labels.
+    }
+    else{
+      findLabels(instructions);
+    }
+    allocateVariables(instructions);
+    stats.end(0, 0, symbolTable.size() - symbols);
+
+    if (optimize){
+      stats.begin(AssemblerStats.OPTIMIZATION);
+      removedInstructions = PeepholeOptimizer.optimize(instructions);
+      findLabels(instructions);
+      stats.end(0, 0, 0);
+    }
+
+    stats.begin(AssemblerStats.ENCODING);
+    short[] words = new short[instructions.size()];
+    if (pool == null){
+      for (int i = 0; i < words.length; i++){
+        words[i] = encode(instructions.get(i));
+      }
     }
     else{
-      return cInstruction(line);
+      pool.invoke(new EncodeTask(instructions, words, 0, words.length));
+    }
+    stats.end(0, words.length, 0);
+    return words;
+  }
+
+  /*
+    Phase statistics of the last run, null after sourceMap.
+  */
+  public AssemblerStats stats(){
+    return stats;
+  }
+
+  /*
+    Receives the encoded machine words in ROM order.
+  */
+  public interface WordSink{
+    void write(short word) throws IOException;
+  }
+
+  /*
+    A WordSink that owns the file it writes to.
+  */
+  public interface WordOutput extends WordSink, Closeable{
+  }
+
+  /*
+    Writes the words as .hack text, one line of '0'/'1' characters per word.
+  */
+  public static WordSink textSink(Writer output){
+    char[] text = new char[17];
+    return word -> {
+      writeBinary(word, text);
+      output.write(text, 0, 17);
+    };
+  }
+
+  /*
+    Output settings of the command line and the directory mode.
+  */
+  public static final class Options{
+    // Write a packed RomImage instead of the .hack text.
+    public boolean binary = false;
+    public ByteOrder byteOrder = ByteOrder.BIG_ENDIAN;
+    // Encode in parallel on the common fork-join pool, the program is then held in memory.
+    public boolean parallel = false;
+    // Run the PeepholeOptimizer, the program is then held in memory.
+    public boolean optimize = false;
+    // Print the statistics of every phase, which are measured on every run.
+    public boolean stats = false;
+    // Reuse the outputs of unchanged sources, null to always assemble.
+    public AssemblyCache cache = null;
+    // Also write a SourceMap next to the output, not allowed together with optimize.
+    public boolean sourceMap = false;
+  }
+
+  /*
+    A program source that can be read more than once, the assembler opens it once per pass.
+  */
+  public interface Source{
+    InputStream open() throws IOException;
+
+    // Name used in statistics and Flight Recorder events.
+    default String name(){
+      return "<memory>";
+    }
+  }
+
+  public static Source fileSource(String path){
+    return new Source(){
+      @Override
+      public InputStream open() throws IOException{
+        return new FileInputStream(path);
+      }
+
+      @Override
+      public String name(){
+        return path;
+      }
+    };
+  }
+
+  public static Source stringSource(String program){
+    byte[] bytes = program.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+    return () -> new ByteArrayInputStream(bytes);
+  }
+
+  // The address of a predefined symbol such as SCREEN or KBD, shared with the emulator's devices.
+  // -1 when there is no such symbol.
+  static int predefinedAddress(String symbol){
+    Integer address = predefinedSymbols.get(symbol);
+    return address == null ? -1 : address;
+  }
+
+  /*
+    Clears the labels and variables of the previous run.
+  */
+  private void reset(){
+    removedInstructions = 0;
+    stats = null;
+    symbolTable.clear();
+    for (Map.Entry<String, Integer> symbol : predefinedSymbols.entrySet()){
+      symbolTable.put(symbol.getKey(), symbol.getValue());
     }
+    availableAddress = 16;
+  }
+
+  /*
+    Assembles a source in two streaming passes and writes the .hack text to the output.
+    Memory use is bounded by the symbol table, not by the size of the program.
+    An instance can be reused for many runs, but only by one thread at a time.
+  */
+  public void assemble(Source source, Writer output) throws IOException{
+    assemble(source, textSink(output));
+  }
+
+  public void assemble(Source source, WordSink output) throws IOException{
+    reset();
+    stats = new AssemblerStats(source.name());
+    recordLabels(source.open(), null);
+    writeInstructions(source.open(), output);
+  }
+
+  public void assembleFile(String inputFilePath, String outputFilePath) throws IOException{
+    assembleFile(inputFilePath, outputFilePath, new Options());
   }
 
-  public static String aInstruction(String line){
-    String current = line.substring(1);
-    int address;
+  public void assembleFile(String inputFilePath, String outputFilePath, Options options) throws IOException{
+    if (options.parallel || options.optimize){
+      ForkJoinPool pool = options.parallel ? ForkJoinPool.commonPool() : null;
+      short[] words = assembleWords(fileSource(inputFilePath), pool, options.optimize);
 
-    if (isNumeric(current)){
-      address = Integer.parseInt(current);
+      stats.begin(AssemblerStats.WRITE);
+      try (WordOutput output = openOutput(outputFilePath, options)){
+        for (short word : words){
+          output.write(word);
+        }
+      }
+      stats.end(0, 0, 0);
     }
     else{
-      if (!symbolTable.containsKey(current)){
-        symbolTable.put(current, availableAddress);
-        availableAddress++;
+      try (WordOutput output = openOutput(outputFilePath, options)){
+        assemble(fileSource(inputFilePath), output);
       }
-      address = symbolTable.get(current);
     }
+  }
+
+  private static WordOutput openOutput(String outputFilePath, Options options) throws IOException{
+    if (options.binary){
+      return new RomImage.RomWriter(outputFilePath, options.byteOrder);
+    }
+    Writer writer = new BufferedWriter(new FileWriter(outputFilePath), 1 << 16);
+    WordSink sink = textSink(writer);
+    return new WordOutput(){
+      @Override
+      public void write(short word) throws IOException{
+        sink.write(word);
+      }
+
+      @Override
+      public void close() throws IOException{
+        writer.close();
+      }
+    };
+  }
+
+  /*
+    Assembles an in-memory program and returns the .hack text.
+  */
+  public static String assembleString(String program) throws IOException{
+    StringWriter output = new StringWriter();
+    new Assembler().assemble(stringSource(program), output);
+    return output.toString();
+  }
 
-    String binary = Integer.toBinaryString(address);
+  /*
+    Result of assembling one file of a directory.
+    error is null when the file was assembled successfully.
+  */
+  public static final class Result{
+    public final String input;
+    public final String output;
+    public final String error;
+    // True when the output was copied from the AssemblyCache.
+    public final boolean cached;
+    // Instructions removed by the PeepholeOptimizer, 0 when it did not run.
+    public final int removedInstructions;
+    // Phase statistics when Options.stats is set and the file was assembled.
+    public final AssemblerStats stats;
 
-    return String.format("%16s", binary).replace(' ', '0');
+    Result(String input, String output, String error){
+      this(input, output, error, false, 0, null);
+    }
+
+    Result(String input, String output, String error, boolean cached, int removedInstructions, AssemblerStats stats){
+      this.input = input;
+      this.output = output;
+      this.error = error;
+      this.cached = cached;
+      this.removedInstructions = removedInstructions;
+      this.stats = stats;
+    }
   }
 
-  public static boolean isNumeric(String line){
+  /*
+    Assembles every .asm file of a directory in parallel, each with its own Assembler.
+    The results are returned in file name order.
+  */
+  public static List<Result> assembleDirectory(File directory, Options options, int threads) throws InterruptedException{
+    String[] files = directory.list((dir, name) -> name.endsWith(".asm"));
+    if (files == null){
+      return Collections.emptyList();
+    }
+    Arrays.sort(files);
+
+    ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, files.length)));
     try{
-      Integer.parseInt(line);
-      return true;
-    } catch (NumberFormatException e){
-      return false;
+      List<Future<Result>> futures = new ArrayList<>();
+      for (String file : files){
+        String input = new File(directory, file).getPath();
+        futures.add(pool.submit(() -> assembleForResult(input, options)));
+      }
+
+      List<Result> results = new ArrayList<>();
+      for (Future<Result> future : futures){
+        try{
+          results.add(future.get());
+        } catch (ExecutionException e){
+          throw new IllegalStateException(e.getCause());
+        }
+      }
+      return results;
+    } finally{
+      pool.shutdownNow();
     }
   }
 
+  private static Result assembleForResult(String inputFilePath, Options options){
+    String outputFilePath = outputPath(inputFilePath, options);
+    try{
+      Assembler assembler = new Assembler();
+      if (options.cache != null){
+        String key = options.cache.key(inputFilePath, options);
+        if (options.cache.fetch(key, outputFilePath)){
+          if (options.sourceMap && !options.cache.fetchSourceMap(key, sourceMapPath(inputFilePath), inputFilePath)){
+            // Cached by a run without --source-map.
+            writeSourceMap(inputFilePath, options);
+            options.cache.storeSourceMap(key, sourceMapPath(inputFilePath));
+          }
+          return new Result(inputFilePath, outputFilePath, null, true, 0, null);
+        }
+        assembler.assembleFile(inputFilePath, outputFilePath, options);
+        options.cache.store(key, outputFilePath);
+        writeSourceMap(inputFilePath, options);
+        if (options.sourceMap){
+          options.cache.storeSourceMap(key, sourceMapPath(inputFilePath));
+        }
+      }
+      else{
+        assembler.assembleFile(inputFilePath, outputFilePath, options);
+        writeSourceMap(inputFilePath, options);
+      }
+      return new Result(inputFilePath, outputFilePath, null, false, assembler.removedInstructions(),
+          options.stats ? assembler.stats() : null);
+    } catch (FileNotFoundException e){
+      return new Result(inputFilePath, outputFilePath, "Input file not found: " + inputFilePath);
+    } catch (IOException e){
+      return new Result(inputFilePath, outputFilePath, "Error writing to file: " + outputFilePath);
+    } catch (IllegalArgumentException e){
+      return new Result(inputFilePath, outputFilePath, "Error assembling " + inputFilePath + ": " + e.getMessage());
+    }
+  }
+
+  private static void writeSourceMap(String inputFilePath, Options options) throws IOException{
+    if (options.sourceMap){
+      new Assembler().sourceMap(fileSource(inputFilePath)).writeFile(sourceMapPath(inputFilePath));
+    }
+  }
+
+  static String sourceMapPath(String programPath){
+    return programPath.replaceFirst("\\.(asm|hack|hrom)$", "") + ".map";
+  }
+
+  private static void printStats(Result result, PrintStream out){
+    if (result.stats != null){
+      out.println(result.stats.report());
+    }
+  }
+
+  private static String optimizationReport(Result result, Options options){
+    if (!options.optimize || result.cached){
+      return "";
+    }
+    return " Peephole optimization removed " + result.removedInstructions + " instructions.";
+  }
+
+  private static String outputPath(String inputFilePath, Options options){
+    String extension = options.binary ? ".hrom" : ".hack";
+    return inputFilePath.replaceFirst("\\.asm$", extension); // Use Regular Expression to specify the path to the output file
+  }
+
+  public String checkCompOrRegister(String line){
+    return toBinary(encode(line));
+  }
+
+  public String aInstruction(String line){
+    return toBinary(encodeA(line, 1, line.length()));
+  }
+
   public static String cInstruction(String line){
-    String comp = null, jump = null, dest = null;
+    return toBinary(encodeC(line, 0, line.length()));
+  }
+
+  /*
+    Encodes one cleaned instruction into its 16-bit machine word.
+    The line is parsed in place, only new variable names create a String.
+  */
+  public short encode(CharSequence line){
+    if (line.charAt(0) == '@'){
+      return encodeA(line, 1, line.length());
+    }
+    else{
+      return encodeC(line, 0, line.length());
+    }
+  }
+
+  short encodeA(CharSequence line, int start, int end){
+    int address = parseNumber(line, start, end);
 
-    int equalIndex = line.indexOf('=');
-    int semicolonIndex = line.indexOf(';');
+    if (address < 0){
+      address = addressOf(line, start, end);
+    }
 
-    if (equalIndex != -1){
-      dest = line.substring(0, equalIndex);
-      comp = line.substring(equalIndex + 1);
-      jump = null;
+    if (address > 0x7FFF){
+      throw new IllegalArgumentException("Address out of range: " + line);
     }
-    else if (semicolonIndex != -1){
-      comp = line.substring(0, semicolonIndex);
-      jump = line.substring(semicolonIndex + 1);
-      dest = null;
+    return (short) address;
+  }
+
+  /*
+    Returns the address of a label or variable, giving a new variable the next free address.
+  */
+  private int addressOf(CharSequence line, int start, int end){
+    int address = symbolTable.get(line, start, end);
+    if (address < 0){
+      address = availableAddress;
+      symbolTable.put(line, start, end, address);
+      availableAddress++;
     }
+    return address;
+  }
 
-    String compBits = compTable.get(comp);
-    String jumpBits = jumpTable.getOrDefault(jump, "000");
-    String destBits = destTable.getOrDefault(dest, "000");
+  // Returns the value of a decimal constant, or -1 if the range is a symbol.
+  static int parseNumber(CharSequence line, int start, int end){
+    if (start == end){
+      return -1;
+    }
+    int value = 0;
+    for (int i = start; i < end; i++){
+      char c = line.charAt(i);
+      if (c < '0' || c > '9'){
+        return -1;
+      }
+      value = Math.min(value * 10 + (c - '0'), 1 << 16);
+    }
+    return value;
+  }
+
+  static short encodeC(CharSequence line, int start, int end){
+    int equalIndex = -1, semicolonIndex = -1;
+    for (int i = start; i < end; i++){
+      char c = line.charAt(i);
+      if (c == '=' && equalIndex == -1 && semicolonIndex == -1){
+        equalIndex = i;
+      }
+      else if (c == ';' && semicolonIndex == -1){
+        semicolonIndex = i;
+      }
+    }
+
+    int compStart = equalIndex == -1 ? start : equalIndex + 1;
+    int compEnd = semicolonIndex == -1 ? end : semicolonIndex;
+
+    int comp = compCodes.get(line, compStart, compEnd);
+    int dest = equalIndex == -1 ? 0 : destCodes.get(line, start, equalIndex);
+    int jump = semicolonIndex == -1 ? 0 : jumpCodes.get(line, semicolonIndex + 1, end);
+
+    if (comp < 0 || dest < 0 || jump < 0){
+      throw new IllegalArgumentException("Invalid instruction: " + line);
+    }
+    return (short) (0xE000 | comp << 6 | dest << 3 | jump);
+  }
+
+  /*
+    Renders a machine word as sixteen '0'/'1' characters followed by a newline.
+  */
+  static void writeBinary(short word, char[] text){
+    for (int i = 0; i < 16; i++){
+      text[i] = (char) ('0' + ((word >>> (15 - i)) & 1));
+    }
+    text[16] = '\n';
+  }
 
-    return "111" + compBits + destBits + jumpBits;
+  static String toBinary(short word){
+    char[] text = new char[17];
+    writeBinary(word, text);
+    return new String(text, 0, 16);
   }
 
   public static void main(String[] args){
-    if (args.length != 1){ // Check if the number of input arguments is correct.
-      System.out.println("Please provide the correct number of input file path.");
-      return;
+    int status = run(args, System.out, System.err);
+    if (status != 0){
+      System.exit(status);
     }
+  }
 
-    String inputFilePath = args[0];
-    String outputFilePath = inputFilePath.replaceFirst("\\.asm$", ".hack"); // Use Regular Expression to specify the path to the output file
-    
-    try (Scanner myReader = new Scanner(new File(inputFilePath));
-      FileWriter myWriter = new FileWriter(outputFilePath)) {
+  /*
+    Runs the command line with its messages going to out and err instead of the console.
+    Returns 0 when every input was assembled, 1 otherwise. Used by main and the build daemon.
+  */
+  public static int run(String[] args, PrintStream out, PrintStream err){
+    Options options = new Options();
+    List<String> inputs = new ArrayList<>();
+    String cacheDirectory = null;
+    long cacheMegabytes = 256;
+    for (int i = 0; i < args.length; i++){
+      String arg = args[i];
+      switch (arg){
+        case "--binary":
+          options.binary = true;
+          break;
+        case "--little-endian":
+          options.byteOrder = ByteOrder.LITTLE_ENDIAN;
+          break;
+        case "--parallel":
+          options.parallel = true;
+          break;
+        case "--optimize":
+          options.optimize = true;
+          break;
+        case "--stats":
+          options.stats = true;
+          break;
+        case "--source-map":
+          options.sourceMap = true;
+          break;
+        case "--cache":
+        case "--cache-size":
+          if (i + 1 == args.length){
+            out.println("Missing value for " + arg);
+            return 1;
+          }
+          if (arg.equals("--cache")){
+            cacheDirectory = args[++i];
+          }
+          else{
+            try{
+              cacheMegabytes = Long.parseLong(args[++i]);
+            } catch (NumberFormatException e){
+              out.println("Invalid cache size: " + args[i]);
+              return 1;
+            }
+          }
+          break;
+        default:
+          if (arg.startsWith("--")){
+            out.println("Unknown option: " + arg);
+            return 1;
+          }
+          inputs.add(arg);
+      }
+    }
 
-      List<String> input = new ArrayList<>();
-      while (myReader.hasNextLine()) {
-        input.add(myReader.nextLine());
+    if (options.sourceMap && options.optimize){
+      out.println("--source-map describes the unoptimized program and cannot be combined with --optimize");
+      return 1;
+    }
+
+    if (cacheDirectory != null){
+      try{
+        options.cache = new AssemblyCache(cacheDirectory, cacheMegabytes << 20);
+      } catch (IOException e){
+        err.println("Cannot create the cache directory: " + cacheDirectory);
+        return 1;
       }
+    }
 
-      List<String> withoutComment = commentRemover(input);
-      findLabels(withoutComment);
+    if (inputs.size() != 1){ // Check if the number of input arguments is correct.
+      out.println("Please provide the correct number of input file path.");
+      return 1;
+    }
 
-      for (String line : withoutComment) {
-        if (!line.isEmpty()) {
-          String newLine = checkCompOrRegister(line);
-          myWriter.write(newLine + "\n");
+    String inputFilePath = inputs.get(0);
+
+    boolean succeeded = assemblePath(inputFilePath, options, out, err);
+
+    if (options.cache != null){
+      out.println("Cache: " + options.cache.hits() + " hits, " + options.cache.misses() + " misses");
+    }
+    return succeeded ? 0 : 1;
+  }
+
+  private static boolean assemblePath(String inputFilePath, Options options, PrintStream out, PrintStream err){
+    if (new File(inputFilePath).isDirectory()){
+      boolean succeeded = true;
+      try{
+        for (Result result : assembleDirectory(new File(inputFilePath), options, Runtime.getRuntime().availableProcessors())){
+          if (result.error == null){
+            out.println("Successfully wrote to the file: " + result.output + optimizationReport(result, options));
+            printStats(result, out);
+          }
+          else{
+            err.println(result.error);
+            succeeded = false;
+          }
         }
+      } catch (InterruptedException e){
+        Thread.currentThread().interrupt();
+        return false;
       }
+      return succeeded;
+    }
 
-      System.out.println("Successfully wrote to the file.");
-    } 
-    catch (FileNotFoundException e) {
-      System.err.println("Input file not found: " + inputFilePath);
-    } 
-    catch (IOException e) {
-      System.err.println("Error writing to file: " + outputFilePath);
+    Result result = assembleForResult(inputFilePath, options);
+    if (result.error == null){
+      out.println("Successfully wrote to the file." + optimizationReport(result, options));
+      printStats(result, out);
+      return true;
     }
+    err.println(result.error);
+    return false;
   }
 }
\ No newline at end of file
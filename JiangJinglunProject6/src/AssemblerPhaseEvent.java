@@ -0,0 +1,33 @@
+import jdk.jfr.*;
+
+/*
+  Flight Recorder event for one phase of assembling a source, committed by AssemblerStats.
+  Recording costs nothing unless the event is enabled, for example with -XX:StartFlightRecording.
+*/
+@Name("hack.AssemblerPhase")
+@Label("Assembler Phase")
+@Category("Hack")
+@Description("One phase of assembling a Hack assembly source")
+@StackTrace(false)
+public class AssemblerPhaseEvent extends Event{
+
+  @Label("Source")
+  public String source;
+
+  @Label("Phase")
+  public String phase;
+
+  @Label("Bytes Read")
+  @DataAmount
+  public long bytesRead;
+
+  @Label("Instructions")
+  public int instructions;
+
+  @Label("Symbols Created")
+  public int symbols;
+
+  @Label("Allocated")
+  @DataAmount
+  public long allocated;
+}
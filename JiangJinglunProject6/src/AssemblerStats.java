@@ -0,0 +1,127 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/*
+  Wall time and allocation of each phase of one assembly run.
+  The in-memory run goes through the phases from READ to WRITE. The streaming run reads the source twice, in the
+  LABEL_PASS and the ENCODING_PASS, which also writes the output.
+  Every phase is also committed as an AssemblerPhaseEvent, so it shows up next to GC and I/O in a recording.
+  Measuring a phase costs two clock and allocation counter reads, so every run is measured.
+*/
+public class AssemblerStats{
+
+  public static final int READ = 0, COMMENT_REMOVAL = 1, LABEL_RESOLUTION = 2, OPTIMIZATION = 3, ENCODING = 4, WRITE = 5,
+      LABEL_PASS = 6, ENCODING_PASS = 7;
+
+  private static final String[] PHASES = {"read", "comment removal", "label resolution", "optimization", "encoding", "write",
+      "label pass", "encoding pass"};
+
+  private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+  private final String source;
+
+  private final long[] nanos = new long[PHASES.length];
+
+  // Bytes allocated by the thread running the phase, -1 when the JVM cannot measure it.
+  private final long[] allocated = new long[PHASES.length];
+
+  private final boolean[] ran = new boolean[PHASES.length];
+
+  private long bytesRead = 0;
+
+  private int instructions = 0;
+
+  private int symbols = 0;
+
+  private int phase = -1;
+
+  private long startNanos, startAllocated;
+
+  private AssemblerPhaseEvent event;
+
+  public AssemblerStats(String source){
+    this.source = source;
+  }
+
+  private static long allocatedBytes(){
+    if (threads instanceof com.sun.management.ThreadMXBean){
+      return ((com.sun.management.ThreadMXBean) threads).getCurrentThreadAllocatedBytes();
+    }
+    return -1;
+  }
+
+  public void begin(int phase){
+    this.phase = phase;
+    event = new AssemblerPhaseEvent();
+    event.begin();
+    startAllocated = allocatedBytes();
+    startNanos = System.nanoTime();
+  }
+
+  /*
+    Ends the current phase, adding what it read, emitted and created to the totals of the run.
+  */
+  public void end(long bytesRead, int instructions, int symbols){
+    long elapsed = System.nanoTime() - startNanos;
+    long allocatedNow = allocatedBytes();
+
+    nanos[phase] += elapsed;
+    allocated[phase] = allocatedNow < 0 || startAllocated < 0 ? -1 : allocated[phase] + allocatedNow - startAllocated;
+    ran[phase] = true;
+    this.bytesRead += bytesRead;
+    this.instructions += instructions;
+    this.symbols += symbols;
+
+    event.end();
+    if (event.shouldCommit()){
+      event.source = source;
+      event.phase = PHASES[phase];
+      event.bytesRead = bytesRead;
+      event.instructions = instructions;
+      event.symbols = symbols;
+      event.allocated = allocated[phase];
+      event.commit();
+    }
+    event = null;
+  }
+
+  public long nanos(int phase){
+    return nanos[phase];
+  }
+
+  public long bytesRead(){
+    return bytesRead;
+  }
+
+  public int instructions(){
+    return instructions;
+  }
+
+  public int symbols(){
+    return symbols;
+  }
+
+  public String report(){
+    StringBuilder report = new StringBuilder();
+    report.append("Statistics for ").append(source).append("\n");
+    report.append(String.format("  %-18s %12s %16s%n", "phase", "time (ms)", "allocated (KB)"));
+    long totalNanos = 0, totalAllocated = 0;
+    for (int i = 0; i < PHASES.length; i++){
+      if (!ran[i]){
+        continue;
+      }
+      totalNanos += nanos[i];
+      totalAllocated = totalAllocated < 0 || allocated[i] < 0 ? -1 : totalAllocated + allocated[i];
+      report.append(String.format("  %-18s %12.3f %16s%n", PHASES[i], nanos[i] / 1e6, kilobytes(allocated[i])));
+    }
+    report.append(String.format("  %-18s %12.3f %16s%n", "total", totalNanos / 1e6, kilobytes(totalAllocated)));
+    report.append("  bytes read: ").append(bytesRead)
+        .append(", instructions emitted: ").append(instructions)
+        .append(", symbols created: ").append(symbols);
+    return report.toString();
+  }
+
+  private static String kilobytes(long bytes){
+    return bytes < 0 ? "n/a" : Long.toString(bytes >> 10);
+  }
+}
@@ -0,0 +1,190 @@
+import java.io.*;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+  On-disk cache of assembled outputs, keyed by a hash of the source bytes and the assembler version.
+  A hit copies the cached output into place without parsing the source, and with --source-map also the source
+  map that is cached next to it.
+  The least recently used entries are deleted once the cache grows past its size limit. The directory is only
+  scanned for them when a running total of its size goes past the limit, not on every store.
+*/
+public class AssemblyCache{
+
+  private final Path directory;
+
+  private final long maxBytes;
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private final AtomicLong misses = new AtomicLong();
+
+  // Bytes in the cache at the last scan plus the bytes stored since, -1 before the first store.
+  private long size = -1;
+
+  private static final String SOURCE_MAP_SUFFIX = ".map";
+
+  public AssemblyCache(String directory, long maxBytes) throws IOException{
+    this.directory = Files.createDirectories(Paths.get(directory));
+    this.maxBytes = maxBytes;
+  }
+
+  /*
+    Hashes the source file together with everything else that changes the output.
+  */
+  public String key(String inputFilePath, Assembler.Options options) throws IOException{
+    MessageDigest digest;
+    try{
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e){
+      throw new IllegalStateException(e);
+    }
+    digest.update((Assembler.VERSION + ":" + (options.binary ? "binary:" + options.byteOrder : "text")
+        + (options.optimize ? ":optimized:" : ":"))
+        .getBytes("UTF-8"));
+
+    try (InputStream input = new FileInputStream(inputFilePath)){
+      byte[] buffer = new byte[1 << 16];
+      int read;
+      while ((read = input.read(buffer)) != -1){
+        digest.update(buffer, 0, read);
+      }
+    }
+
+    StringBuilder key = new StringBuilder();
+    for (byte b : digest.digest()){
+      key.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+    }
+    return key.toString();
+  }
+
+  /*
+    Copies the cached output of the key to the output path.
+    Returns false, and counts a miss, when the key is not cached.
+  */
+  public boolean fetch(String key, String outputFilePath) throws IOException{
+    Path entry = directory.resolve(key);
+    try{
+      Files.copy(entry, Paths.get(outputFilePath), StandardCopyOption.REPLACE_EXISTING);
+      Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis())); // Mark it as recently used.
+    } catch (NoSuchFileException e){
+      misses.incrementAndGet();
+      return false;
+    }
+    hits.incrementAndGet();
+    return true;
+  }
+
+  /*
+    Writes the source map cached with the key to mapPath, naming source as the file it maps, which can be another
+    file with the same contents than the one it was made from. Returns false when no map is cached with the key.
+    Hits and misses only count the outputs.
+  */
+  public boolean fetchSourceMap(String key, String mapPath, String source) throws IOException{
+    Path entry = directory.resolve(key + SOURCE_MAP_SUFFIX);
+    try{
+      SourceMap.copy(entry, mapPath, source);
+      Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+    } catch (NoSuchFileException e){
+      return false;
+    }
+    return true;
+  }
+
+  /*
+    Adds a freshly assembled output to the cache.
+    The entry is written to a temporary file first, so a concurrent fetch never sees half of it.
+  */
+  public void store(String key, String outputFilePath) throws IOException{
+    put(key, Paths.get(outputFilePath));
+  }
+
+  // Adds the source map of a freshly assembled output, see fetchSourceMap.
+  public void storeSourceMap(String key, String mapPath) throws IOException{
+    put(key + SOURCE_MAP_SUFFIX, Paths.get(mapPath));
+  }
+
+  private void put(String name, Path file) throws IOException{
+    Path temporary = Files.createTempFile(directory, name, ".tmp");
+    long stored;
+    try{
+      Files.copy(file, temporary, StandardCopyOption.REPLACE_EXISTING);
+      stored = Files.size(temporary);
+      Files.move(temporary, directory.resolve(name), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally{
+      Files.deleteIfExists(temporary);
+    }
+    added(stored);
+  }
+
+  /*
+    Counts stored bytes and evicts once the total goes past the limit. An entry that replaced another one is
+    counted in full, which at worst makes the next scan come earlier.
+  */
+  private synchronized void added(long bytes) throws IOException{
+    if (size < 0 || (size += bytes) > maxBytes){
+      evict();
+    }
+  }
+
+  /*
+    Deletes the least recently used entries until the cache fits in its size limit, and sets the running total
+    to what is left. Also picks up what other processes stored meanwhile.
+  */
+  private synchronized void evict() throws IOException{
+    List<Path> entries = new ArrayList<>();
+    Map<Path, BasicEntry> info = new HashMap<>();
+    long total = 0;
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)){
+      for (Path entry : stream){
+        if (entry.getFileName().toString().endsWith(".tmp")){
+          continue;
+        }
+        try{
+          BasicEntry basic = new BasicEntry(Files.size(entry), Files.getLastModifiedTime(entry).toMillis());
+          entries.add(entry);
+          info.put(entry, basic);
+          total += basic.size;
+        } catch (NoSuchFileException e){
+          // Deleted by another process in the meantime.
+        }
+      }
+    }
+    if (total <= maxBytes){
+      size = total;
+      return;
+    }
+
+    entries.sort(Comparator.comparingLong(entry -> info.get(entry).lastUsed));
+    for (Path entry : entries){
+      if (total <= maxBytes){
+        break;
+      }
+      if (Files.deleteIfExists(entry)){
+        total -= info.get(entry).size;
+      }
+    }
+    size = total;
+  }
+
+  private static final class BasicEntry{
+    final long size;
+    final long lastUsed;
+
+    BasicEntry(long size, long lastUsed){
+      this.size = size;
+      this.lastUsed = lastUsed;
+    }
+  }
+
+  public long hits(){
+    return hits.get();
+  }
+
+  public long misses(){
+    return misses.get();
+  }
+}
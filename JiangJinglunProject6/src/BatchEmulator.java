@@ -0,0 +1,552 @@
+import java.io.*;
+import java.util.*;
+import jdk.incubator.vector.*;
+
+/*
+  Runs many Hack machines with the same ROM and different RAM in lockstep, one machine per SIMD lane.
+
+  The machines are split into groups of as many machines as a ShortVector has lanes. A group shares one pc, and
+  every instruction is executed for all of its lanes at once with the Vector API. The registers and RAM are kept
+  as structure of arrays: a group's RAM holds word address of lane i at address * LANES + i, so the words of one
+  address in all lanes are a single vector load. While A is set by an A-instruction it is the same in every
+  lane, and M is a plain vector load or store. A computed A uses gathers and scatters instead.
+
+  When the lanes of a group disagree on a jump, the larger part of the group stays in lockstep. The other lanes
+  are masked off: their registers are saved, their RAM is no longer written, and they finish on a scalar
+  MicroOpEmulator after the group is done.
+
+  Compile and run with --add-modules jdk.incubator.vector.
+*/
+public class BatchEmulator{
+
+  static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+
+  static final int LANES = SPECIES.length();
+
+  // The decoded program, also used to run the lanes that left their group.
+  private final MicroOpEmulator program = new MicroOpEmulator();
+
+  private final int machines;
+
+  // RAM of each group, ram[group][address * LANES + lane].
+  private final short[][] ram;
+
+  // Addresses ever written in each group, one bit per address. Every other word is 0 in all lanes, so moving a
+  // machine between the group and the scalar emulator only has to copy the written words.
+  private final long[][] written;
+
+  // Registers of every machine, the lanes of a group are next to each other.
+  private final short[] a, d;
+  private final int[] pc;
+  private final long[] cycles;
+  private final boolean[] halted;
+
+  // Machines that left the lockstep of their group and run on the scalar emulator.
+  private final boolean[] diverged;
+
+  // Cycle count each machine stops at in the current run.
+  private final long[] limits;
+
+  private long vectorCycles = 0;
+
+  private long scalarCycles = 0;
+
+  public BatchEmulator(short[] rom, int machines){
+    if (machines <= 0){
+      throw new IllegalArgumentException("Need at least one machine");
+    }
+    program.load(rom);
+    this.machines = machines;
+    int groups = (machines + LANES - 1) / LANES;
+    int lanes = groups * LANES; // The last group is padded with machines nobody reads.
+    ram = new short[groups][HackEmulator.RAM_SIZE * LANES];
+    written = new long[groups][HackEmulator.RAM_SIZE / 64];
+    a = new short[lanes];
+    d = new short[lanes];
+    pc = new int[lanes];
+    cycles = new long[lanes];
+    halted = new boolean[lanes];
+    diverged = new boolean[lanes];
+    limits = new long[lanes];
+    for (int machine = machines; machine < lanes; machine++){
+      halted[machine] = true;
+    }
+    Arrays.fill(halted, 0, machines, program.halted());
+  }
+
+  public int machines(){
+    return machines;
+  }
+
+  public short peek(int machine, int address){
+    return ram[machine / LANES][address * LANES + machine % LANES];
+  }
+
+  public void poke(int machine, int address, int value){
+    ram[machine / LANES][address * LANES + machine % LANES] = (short) value;
+    written[machine / LANES][address >> 6] |= 1L << address;
+  }
+
+  public int a(int machine){
+    return a[machine];
+  }
+
+  public int d(int machine){
+    return d[machine];
+  }
+
+  public int pc(int machine){
+    return pc[machine];
+  }
+
+  public long cycles(int machine){
+    return cycles[machine];
+  }
+
+  public boolean halted(int machine){
+    return halted[machine];
+  }
+
+  public long vectorCycles(){
+    return vectorCycles;
+  }
+
+  public long scalarCycles(){
+    return scalarCycles;
+  }
+
+  public int divergedMachines(){
+    int count = 0;
+    for (int machine = 0; machine < machines; machine++){
+      count += diverged[machine] ? 1 : 0;
+    }
+    return count;
+  }
+
+  /*
+    Runs every machine until it halts or has executed maxCycles more instructions.
+  */
+  public void run(long maxCycles){
+    for (int machine = 0; machine < limits.length; machine++){
+      limits[machine] = cycles[machine] + Math.min(maxCycles, Long.MAX_VALUE - cycles[machine]);
+    }
+    for (int group = 0; group < ram.length; group++){
+      runGroup(group);
+    }
+    for (int machine = 0; machine < machines; machine++){
+      if (diverged[machine] && !halted[machine]){
+        runScalar(machine);
+      }
+    }
+  }
+
+  /*
+    Runs the lanes of a group that are still in lockstep.
+  */
+  private void runGroup(int group){
+    final byte[] ops = program.ops;
+    final byte[] flags = program.flags;
+    final short[] operands = program.operands;
+    final short[] ram = this.ram[group];
+    final long[] written = this.written[group];
+    final int base = group * LANES;
+
+    boolean[] lanes = new boolean[LANES];
+    int first = -1, activeCount = 0;
+    for (int lane = 0; lane < LANES; lane++){
+      lanes[lane] = !diverged[base + lane] && !halted[base + lane];
+      if (lanes[lane]){
+        activeCount++;
+        first = first == -1 ? lane : first;
+      }
+    }
+    if (activeCount == 0){
+      return;
+    }
+
+    // A is kept as one value while it is the same in every lane, which is the case after an A-instruction.
+    // The registers of the lanes live in arrays rather than in vector variables carried around the loop,
+    // which HotSpot would have to box on every instruction.
+    boolean uniformA = false;
+    int aValue = 0;
+    short[] aLanes = Arrays.copyOfRange(a, base, base + LANES);
+    short[] dLanes = Arrays.copyOfRange(this.d, base, base + LANES);
+    int pc = this.pc[base + first];
+    final long start = this.cycles[base + first];
+    final long end = limits[base + first];
+    long cycles = start;
+    boolean groupHalted = false;
+    int[] index = new int[LANES];
+    short[] targetLanes = new short[LANES];
+
+    while (cycles < end){
+      int op = ops[pc];
+      if (op == MicroOpEmulator.HALT){
+        groupHalted = true;
+        break;
+      }
+      cycles++;
+      if (op == MicroOpEmulator.LOAD_A){
+        uniformA = true;
+        aValue = operands[pc];
+        pc++;
+        continue;
+      }
+
+      int flag = flags[pc];
+      boolean readsM = op >= MicroOpEmulator.FIRST_COMP + 18 || op == MicroOpEmulator.ALU_M;
+      if (!uniformA && (readsM || (flag & MicroOpEmulator.DEST_M) != 0)){
+        // The word addresses of M in this group, when A differs between lanes.
+        for (int lane = 0; lane < LANES; lane++){
+          index[lane] = (aLanes[lane] & 0x7FFF) * LANES + lane;
+        }
+      }
+      ShortVector y;
+      if (readsM){
+        y = uniformA ? ShortVector.fromArray(SPECIES, ram, (aValue & 0x7FFF) * LANES)
+            : ShortVector.fromArray(SPECIES, ram, 0, index, 0);
+      }
+      else{
+        y = uniformA ? ShortVector.broadcast(SPECIES, (short) aValue) : ShortVector.fromArray(SPECIES, aLanes, 0);
+      }
+      ShortVector out = compute(op, operands[pc], ShortVector.fromArray(SPECIES, dLanes, 0), y);
+
+      if ((flag & MicroOpEmulator.DEST_M) != 0){
+        VectorMask<Short> active = VectorMask.fromArray(SPECIES, lanes, 0);
+        if (uniformA){
+          int row = (aValue & 0x7FFF) * LANES;
+          ShortVector.fromArray(SPECIES, ram, row).blend(out, active).intoArray(ram, row);
+          written[(aValue & 0x7FFF) >> 6] |= 1L << aValue;
+        }
+        else{
+          out.intoArray(ram, 0, index, 0, active);
+          for (int lane = 0; lane < LANES; lane++){
+            int address = aLanes[lane] & 0x7FFF;
+            written[address >> 6] |= lanes[lane] ? 1L << address : 0;
+          }
+        }
+      }
+      if ((flag & MicroOpEmulator.DEST_D) != 0){
+        out.intoArray(dLanes, 0);
+      }
+      int jump = (flag >> MicroOpEmulator.JUMP_SHIFT) & 0x07;
+      boolean targetUniform = uniformA;
+      int target = aValue & 0x7FFF;
+      if (jump != 0 && !uniformA){
+        ShortVector.fromArray(SPECIES, aLanes, 0).and((short) 0x7FFF).intoArray(targetLanes, 0);
+      }
+      if ((flag & MicroOpEmulator.DEST_A) != 0){
+        if (uniformA){
+          Arrays.fill(aLanes, (short) aValue);
+        }
+        uniformA = false;
+        out.intoArray(aLanes, 0);
+      }
+
+      if (jump == 0){
+        pc++;
+        continue;
+      }
+      VectorMask<Short> taken = jumps(jump, out).and(VectorMask.fromArray(SPECIES, lanes, 0));
+      int takenCount = taken.trueCount();
+      if (!targetUniform && takenCount > 0){
+        // A computed target is still shared if every jumping lane holds the same address.
+        ShortVector targets = ShortVector.fromArray(SPECIES, targetLanes, 0);
+        short min = targets.reduceLanes(VectorOperators.MIN, taken);
+        targetUniform = min == targets.reduceLanes(VectorOperators.MAX, taken);
+        target = min;
+      }
+
+      if (takenCount == 0){
+        pc++;
+      }
+      else if (takenCount == activeCount && targetUniform){
+        groupHalted = (flag & MicroOpEmulator.SELF_LOOP) != 0 && target == pc - 1;
+        pc = target;
+        if (groupHalted){
+          break;
+        }
+      }
+      else{
+        // The lanes disagree: keep the most common next pc in lockstep and leave the others to the scalar emulator.
+        boolean[] jumped = new boolean[LANES];
+        taken.intoArray(jumped, 0);
+        int[] next = new int[LANES];
+        for (int lane = 0; lane < LANES; lane++){
+          next[lane] = !jumped[lane] ? pc + 1 : targetUniform ? target : targetLanes[lane];
+        }
+        int keep = mostCommon(next, lanes);
+        for (int lane = 0; lane < LANES; lane++){
+          if (lanes[lane] && next[lane] != keep){
+            int machine = base + lane;
+            a[machine] = uniformA ? (short) aValue : aLanes[lane];
+            this.d[machine] = dLanes[lane];
+            this.pc[machine] = next[lane];
+            this.cycles[machine] = cycles;
+            // The same halt checks as the scalar emulator, for the jump just taken or running off the program.
+            halted[machine] = ops[next[lane]] == MicroOpEmulator.HALT
+                || (jumped[lane] && (flag & MicroOpEmulator.SELF_LOOP) != 0 && next[lane] == pc - 1);
+            diverged[machine] = true;
+            lanes[lane] = false;
+            activeCount--;
+            vectorCycles += cycles - start;
+          }
+        }
+        groupHalted = (flag & MicroOpEmulator.SELF_LOOP) != 0 && keep == pc - 1;
+        pc = keep;
+        if (groupHalted){
+          break;
+        }
+      }
+    }
+
+    vectorCycles += (cycles - start) * activeCount;
+    groupHalted |= ops[pc] == MicroOpEmulator.HALT;
+    for (int lane = 0; lane < LANES; lane++){
+      if (lanes[lane]){
+        a[base + lane] = uniformA ? (short) aValue : aLanes[lane];
+        this.d[base + lane] = dLanes[lane];
+        this.pc[base + lane] = pc;
+        this.cycles[base + lane] = cycles;
+        halted[base + lane] = groupHalted;
+      }
+    }
+  }
+
+  // The next pc shared by the most active lanes, ties go to the lowest lane.
+  private static int mostCommon(int[] next, boolean[] lanes){
+    int best = -1, bestCount = 0;
+    for (int i = 0; i < next.length; i++){
+      if (!lanes[i]){
+        continue;
+      }
+      int count = 0;
+      for (int j = 0; j < next.length; j++){
+        count += lanes[j] && next[j] == next[i] ? 1 : 0;
+      }
+      if (count > bestCount){
+        best = next[i];
+        bestCount = count;
+      }
+    }
+    return best;
+  }
+
+  private static VectorMask<Short> jumps(int jump, ShortVector out){
+    switch (jump){
+      case 1: return out.compare(VectorOperators.GT, (short) 0);
+      case 2: return out.compare(VectorOperators.EQ, (short) 0);
+      case 3: return out.compare(VectorOperators.GE, (short) 0);
+      case 4: return out.compare(VectorOperators.LT, (short) 0);
+      case 5: return out.compare(VectorOperators.NE, (short) 0);
+      case 6: return out.compare(VectorOperators.LE, (short) 0);
+      default: return SPECIES.maskAll(true);
+    }
+  }
+
+  /*
+    The ALU for all lanes, y is A or M depending on the op. Follows the cases of MicroOpEmulator.run.
+  */
+  private static ShortVector compute(int op, int control, ShortVector x, ShortVector y){
+    switch (op){
+      case MicroOpEmulator.ALU_A:
+      case MicroOpEmulator.ALU_M: return alu(control, x, y);
+      case MicroOpEmulator.FIRST_COMP: return ShortVector.zero(SPECIES);
+      case MicroOpEmulator.FIRST_COMP + 1: return ShortVector.broadcast(SPECIES, (short) 1);
+      case MicroOpEmulator.FIRST_COMP + 2: return ShortVector.broadcast(SPECIES, (short) -1);
+      case MicroOpEmulator.FIRST_COMP + 3: return x;
+      case MicroOpEmulator.FIRST_COMP + 5: return x.not();
+      case MicroOpEmulator.FIRST_COMP + 7: return x.neg();
+      case MicroOpEmulator.FIRST_COMP + 9: return x.add((short) 1);
+      case MicroOpEmulator.FIRST_COMP + 11: return x.sub((short) 1);
+      case MicroOpEmulator.FIRST_COMP + 4:
+      case MicroOpEmulator.FIRST_COMP + 18: return y;
+      case MicroOpEmulator.FIRST_COMP + 6:
+      case MicroOpEmulator.FIRST_COMP + 19: return y.not();
+      case MicroOpEmulator.FIRST_COMP + 8:
+      case MicroOpEmulator.FIRST_COMP + 20: return y.neg();
+      case MicroOpEmulator.FIRST_COMP + 10:
+      case MicroOpEmulator.FIRST_COMP + 21: return y.add((short) 1);
+      case MicroOpEmulator.FIRST_COMP + 12:
+      case MicroOpEmulator.FIRST_COMP + 22: return y.sub((short) 1);
+      case MicroOpEmulator.FIRST_COMP + 13:
+      case MicroOpEmulator.FIRST_COMP + 23: return x.add(y);
+      case MicroOpEmulator.FIRST_COMP + 14:
+      case MicroOpEmulator.FIRST_COMP + 24: return x.sub(y);
+      case MicroOpEmulator.FIRST_COMP + 15:
+      case MicroOpEmulator.FIRST_COMP + 25: return y.sub(x);
+      case MicroOpEmulator.FIRST_COMP + 16:
+      case MicroOpEmulator.FIRST_COMP + 26: return x.and(y);
+      default: return x.or(y);
+    }
+  }
+
+  // The gate logic of HackEmulator.alu on vectors.
+  private static ShortVector alu(int control, ShortVector x, ShortVector y){
+    if ((control & 0x20) != 0) x = ShortVector.zero(SPECIES);  // zx
+    if ((control & 0x10) != 0) x = x.not();                    // nx
+    if ((control & 0x08) != 0) y = ShortVector.zero(SPECIES);  // zy
+    if ((control & 0x04) != 0) y = y.not();                    // ny
+    ShortVector out = (control & 0x02) != 0 ? x.add(y) : x.and(y); // f
+    return (control & 0x01) != 0 ? out.not() : out;                 // no
+  }
+
+  /*
+    Finishes a machine that left its group on the scalar emulator, with its RAM copied out of the group and back.
+  */
+  private void runScalar(int machine){
+    short[] ram = this.ram[machine / LANES];
+    long[] written = this.written[machine / LANES];
+    int lane = machine % LANES;
+    Arrays.fill(program.ram, (short) 0);
+    for (int word = 0; word < written.length; word++){
+      for (long bits = written[word]; bits != 0; bits &= bits - 1){
+        int address = word * 64 + Long.numberOfTrailingZeros(bits);
+        program.ram[address] = ram[address * LANES + lane];
+      }
+    }
+    program.a = a[machine];
+    program.d = d[machine];
+    program.pc = pc[machine];
+    program.cycles = cycles[machine];
+    program.halted = false;
+
+    scalarCycles += program.run(limits[machine] - program.cycles);
+
+    // Copies back the words written before and every word that is no longer 0, skipping zeros a vector at a time.
+    for (int word = 0; word < written.length; word++){
+      for (long bits = written[word]; bits != 0; bits &= bits - 1){
+        int address = word * 64 + Long.numberOfTrailingZeros(bits);
+        ram[address * LANES + lane] = program.ram[address];
+      }
+    }
+    for (int chunk = 0; chunk < HackEmulator.RAM_SIZE; chunk += LANES){
+      if (ShortVector.fromArray(SPECIES, program.ram, chunk).compare(VectorOperators.NE, (short) 0).anyTrue()){
+        for (int address = chunk; address < chunk + LANES; address++){
+          if (program.ram[address] != 0){
+            ram[address * LANES + lane] = program.ram[address];
+            written[address >> 6] |= 1L << address;
+          }
+        }
+      }
+    }
+    a[machine] = (short) program.a;
+    d[machine] = (short) program.d;
+    pc[machine] = program.pc;
+    cycles[machine] = program.cycles;
+    halted[machine] = program.halted;
+  }
+
+  /*
+    java --add-modules jdk.incubator.vector BatchEmulator <program> <machines> [max cycles] [address=value ...]
+    A value "from:to" sweeps a parameter, machine m gets from + m modulo the size of the range.
+    Runs the machines in lockstep, then runs each of them on its own MicroOpEmulator to compare results and speed.
+  */
+  public static void main(String[] args){
+    if (args.length < 2){
+      System.out.println("Usage: java --add-modules jdk.incubator.vector BatchEmulator <program> <machines> [max cycles] [address=value|from:to ...]");
+      return;
+    }
+
+    short[] rom;
+    int machines;
+    long maxCycles = Long.MAX_VALUE;
+    List<int[]> settings = new ArrayList<>(); // address, from, to
+    try{
+      rom = HackEmulator.readProgram(args[0]);
+      machines = Integer.parseInt(args[1]);
+      if (machines <= 0){
+        throw new IllegalArgumentException("Need at least one machine, not " + machines);
+      }
+      for (int i = 2; i < args.length; i++){
+        int equalIndex = args[i].indexOf('=');
+        if (equalIndex == -1){
+          maxCycles = Long.parseLong(args[i]);
+          continue;
+        }
+        String value = args[i].substring(equalIndex + 1);
+        int colonIndex = value.indexOf(':');
+        int from = Integer.parseInt(colonIndex == -1 ? value : value.substring(0, colonIndex));
+        int to = colonIndex == -1 ? from : Integer.parseInt(value.substring(colonIndex + 1));
+        if (to < from){
+          throw new IllegalArgumentException("Empty range " + value);
+        }
+        int address = Integer.parseInt(args[i].substring(0, equalIndex));
+        if (address < 0 || address >= HackEmulator.RAM_SIZE){
+          throw new IllegalArgumentException("Address out of range " + address);
+        }
+        settings.add(new int[]{address, from, to});
+      }
+    } catch (IOException e){
+      System.err.println("Error reading program: " + e.getMessage());
+      return;
+    } catch (IllegalArgumentException e){
+      System.err.println("Invalid argument: " + e.getMessage());
+      return;
+    }
+
+    // Both sides run three times and report their best time, the first run mostly measures the JIT warming up.
+    BatchEmulator batch = null;
+    long batchTime = Long.MAX_VALUE;
+    for (int round = 0; round < 3; round++){
+      batch = new BatchEmulator(rom, machines);
+      for (int machine = 0; machine < machines; machine++){
+        for (int[] setting : settings){
+          batch.poke(machine, setting[0], setting[1] + machine % (setting[2] - setting[1] + 1));
+        }
+      }
+      long start = System.nanoTime();
+      batch.run(maxCycles);
+      batchTime = Math.min(batchTime, System.nanoTime() - start);
+    }
+    long total = batch.vectorCycles() + batch.scalarCycles();
+    System.out.println(String.format("%d machines in %d-lane groups: %d cycles in %.1f ms, %.1f million instructions per second",
+        machines, LANES, total, batchTime / 1e6, total * 1e3 / Math.max(batchTime, 1)));
+    System.out.println(batch.divergedMachines() + " machines left lockstep, " + batch.scalarCycles() + " cycles run on the scalar emulator");
+
+    MicroOpEmulator scalar = new MicroOpEmulator();
+    scalar.load(rom);
+    String difference = null;
+    long scalarTime = Long.MAX_VALUE;
+    for (int round = 0; round < 3; round++){
+      long time = 0;
+      for (int machine = 0; machine < machines; machine++){
+        Arrays.fill(scalar.ram, (short) 0);
+        for (int[] setting : settings){
+          scalar.poke(setting[0], setting[1] + machine % (setting[2] - setting[1] + 1));
+        }
+        scalar.reset();
+        long start = System.nanoTime();
+        scalar.run(maxCycles);
+        time += System.nanoTime() - start;
+        if (difference == null){
+          difference = batch.compare(machine, scalar);
+        }
+      }
+      scalarTime = Math.min(scalarTime, time);
+    }
+    System.out.println(String.format("One MicroOpEmulator per machine: %.1f ms, %.1f million instructions per second",
+        scalarTime / 1e6, total * 1e3 / Math.max(scalarTime, 1)));
+    System.out.println(difference == null ? "Every machine matches the scalar emulator" : difference);
+    for (int machine = 0; machine < Math.min(machines, 8); machine++){
+      System.out.println("Machine " + machine + ": " + batch.cycles(machine) + " cycles, R0 = " + batch.peek(machine, 0)
+          + ", R1 = " + batch.peek(machine, 1) + ", R2 = " + batch.peek(machine, 2));
+    }
+  }
+
+  // Compares one machine with a scalar emulator, like HackEmulator.compare.
+  String compare(int machine, HackEmulator scalar){
+    if (a[machine] != scalar.a || d[machine] != scalar.d || pc[machine] != scalar.pc
+        || cycles[machine] != scalar.cycles || halted[machine] != scalar.halted){
+      return "Machine " + machine + " differs: A, D, pc, cycles are " + a[machine] + ", " + d[machine] + ", " + pc[machine]
+          + ", " + cycles[machine] + " instead of " + scalar.a + ", " + scalar.d + ", " + scalar.pc + ", " + scalar.cycles;
+    }
+    for (int address = 0; address < HackEmulator.RAM_SIZE; address++){
+      if (peek(machine, address) != scalar.ram[address]){
+        return "Machine " + machine + " differs: RAM[" + address + "] is " + peek(machine, address) + " instead of "
+            + scalar.ram[address];
+      }
+    }
+    return null;
+  }
+}
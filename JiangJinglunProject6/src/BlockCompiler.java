@@ -0,0 +1,417 @@
+import java.io.*;
+import java.lang.invoke.MethodHandles;
+import java.util.*;
+
+/*
+  Translates blocks of a decoded Hack program into JVM bytecode and defines them as a hidden class.
+
+  The class implements TieredEmulator.CompiledCode. Every block becomes a static method taking RAM and the
+  registers array and returning the address of the next block, with A and D in local variables. The run method
+  loops over a lookupswitch on the pc that calls the block methods, so HotSpot can inline hot blocks into it.
+  It returns when the pc has no compiled block or fewer than MAX_BLOCK cycles of the budget are left, which is
+  enough for any block.
+
+  The class file is written by hand in version 49, which needs no stack map frames, so compiling takes
+  microseconds instead of starting a Java compiler.
+*/
+public class BlockCompiler{
+
+  private static final String CLASS_NAME = "HackBlocks";
+
+  private static final String BLOCK_DESCRIPTOR = "([S[I)I";
+
+  // The opcodes used by the generated code.
+  private static final int ICONST_0 = 0x03, BIPUSH = 0x10, SIPUSH = 0x11, LDC_W = 0x13;
+  private static final int ILOAD = 0x15, ALOAD = 0x19, IALOAD = 0x2e, SALOAD = 0x35;
+  private static final int ISTORE = 0x36, IASTORE = 0x4f, SASTORE = 0x56, SWAP = 0x5f;
+  private static final int IADD = 0x60, ISUB = 0x64, INEG = 0x74, IAND = 0x7e, IOR = 0x80, IXOR = 0x82, I2S = 0x93;
+  private static final int IF_ICMPLT = 0xa1, GOTO = 0xa7, LOOKUPSWITCH = 0xab;
+  private static final int IRETURN = 0xac, RETURN = 0xb1, INVOKESPECIAL = 0xb7, INVOKESTATIC = 0xb8;
+
+  // Branch opcodes for the jump fields JGT to JLE, testing the ALU output against 0.
+  private static final int[] JUMP_OPCODES = {0, 0x9d, 0x99, 0x9c, 0x9b, 0x9a, 0x9e};
+
+  // Locals of a block method.
+  private static final int RAM = 0, REGISTERS = 1, A = 2, D = 3, OUT = 4, TARGET = 5;
+
+  private final MicroOpEmulator program;
+
+  private final int[] blockLength;
+
+  private final ConstantPool pool = new ConstantPool();
+
+  BlockCompiler(MicroOpEmulator program, int[] blockLength){
+    this.program = program;
+    this.blockLength = blockLength;
+  }
+
+  /*
+    Compiles the blocks starting at the given addresses into a new hidden class.
+  */
+  TieredEmulator.CompiledCode compile(List<Integer> entries) throws ReflectiveOperationException{
+    byte[] classFile = classFile(entries);
+    Class<?> blocks = MethodHandles.lookup().defineHiddenClass(classFile, true).lookupClass();
+    return (TieredEmulator.CompiledCode) blocks.getConstructor().newInstance();
+  }
+
+  byte[] classFile(List<Integer> entries){
+    List<byte[]> methods = new ArrayList<>();
+    methods.add(method(0x0001, "<init>", "()V", 1, 1, constructor()));
+    methods.add(method(0x0001, "run", "([S[II)I", 4, 6, dispatcher(entries)));
+    for (int entry : entries){
+      methods.add(method(0x000A, "b" + entry, BLOCK_DESCRIPTOR, 6, 6, block(entry)));
+    }
+    int thisClass = pool.classRef(CLASS_NAME);
+    int superClass = pool.classRef("java/lang/Object");
+    int codeInterface = pool.classRef("TieredEmulator$CompiledCode");
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    try{
+      out.writeInt(0xCAFEBABE);
+      out.writeShort(0);
+      out.writeShort(49);
+      pool.write(out);
+      out.writeShort(0x0031); // public final super
+      out.writeShort(thisClass);
+      out.writeShort(superClass);
+      out.writeShort(1);
+      out.writeShort(codeInterface);
+      out.writeShort(0); // fields
+      out.writeShort(methods.size());
+      for (byte[] method : methods){
+        out.write(method);
+      }
+      out.writeShort(0); // attributes
+    } catch (IOException e){
+      throw new UncheckedIOException(e); // Cannot happen writing to memory.
+    }
+    return bytes.toByteArray();
+  }
+
+  private byte[] method(int access, String name, String descriptor, int maxStack, int maxLocals, Code code){
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+    try{
+      out.writeShort(access);
+      out.writeShort(pool.utf8(name));
+      out.writeShort(pool.utf8(descriptor));
+      out.writeShort(1);
+      out.writeShort(pool.utf8("Code"));
+      out.writeInt(12 + code.length);
+      out.writeShort(maxStack);
+      out.writeShort(maxLocals);
+      out.writeInt(code.length);
+      out.write(code.bytes, 0, code.length);
+      out.writeShort(0); // exception table
+      out.writeShort(0); // attributes
+    } catch (IOException e){
+      throw new UncheckedIOException(e);
+    }
+    return bytes.toByteArray();
+  }
+
+  private Code constructor(){
+    Code code = new Code();
+    code.op(ALOAD).op(0);
+    code.op(INVOKESPECIAL).u2(pool.methodRef("java/lang/Object", "<init>", "()V"));
+    code.op(RETURN);
+    return code;
+  }
+
+  /*
+    int run(short[] ram, int[] registers, int budget), locals: 1 ram, 2 registers, 3 budget, 4 pc, 5 cycles left.
+  */
+  private Code dispatcher(List<Integer> entries){
+    Code code = new Code();
+    code.op(ALOAD).op(2).push(2).op(IALOAD).op(ISTORE).op(4);
+    code.op(ILOAD).op(3).op(ISTORE).op(5);
+
+    int loop = code.length;
+    code.op(ILOAD).op(5).push(TieredEmulator.MAX_BLOCK);
+    int toExit = code.branch(IF_ICMPLT);
+    code.op(ILOAD).op(4);
+
+    int switchStart = code.length;
+    code.op(LOOKUPSWITCH);
+    while (code.length % 4 != 0){
+      code.op(0);
+    }
+    int defaultOffset = code.length;
+    code.u4(0);
+    List<Integer> sorted = new ArrayList<>(entries);
+    Collections.sort(sorted);
+    code.u4(sorted.size());
+    int pairs = code.length;
+    for (int entry : sorted){
+      code.u4(entry).u4(0);
+    }
+
+    // Each case leaves the block length on the stack for the subtraction after the call.
+    List<Integer> toSubtract = new ArrayList<>();
+    for (int i = 0; i < sorted.size(); i++){
+      int entry = sorted.get(i);
+      code.patch4(pairs + 8 * i + 4, code.length - switchStart);
+      code.push(blockLength[entry]);
+      code.op(ALOAD).op(1).op(ALOAD).op(2);
+      code.op(INVOKESTATIC).u2(pool.methodRef(CLASS_NAME, "b" + entry, BLOCK_DESCRIPTOR));
+      code.op(ISTORE).op(4);
+      toSubtract.add(code.branch(GOTO));
+    }
+
+    for (int branch : toSubtract){
+      code.target(branch);
+    }
+    code.op(ILOAD).op(5).op(SWAP).op(ISUB).op(ISTORE).op(5);
+    code.op(GOTO).u2(loop - (code.length - 1));
+
+    code.target(toExit);
+    code.patch4(defaultOffset, code.length - switchStart);
+    code.op(ALOAD).op(2).push(2).op(ILOAD).op(4).op(IASTORE);
+    code.op(ILOAD).op(3).op(ILOAD).op(5).op(ISUB).op(IRETURN);
+    return code;
+  }
+
+  /*
+    static int b<entry>(short[] ram, int[] registers), the instructions of one block with A and D in locals.
+  */
+  private Code block(int entry){
+    Code code = new Code();
+    code.op(ALOAD).op(REGISTERS).push(0).op(IALOAD).op(ISTORE).op(A);
+    code.op(ALOAD).op(REGISTERS).push(1).op(IALOAD).op(ISTORE).op(D);
+
+    int end = entry + blockLength[entry];
+    int knownA = -1; // Value of A when it is set by an A-instruction of this block.
+    for (int address = entry; address < end; address++){
+      int op = program.ops[address];
+      if (op == MicroOpEmulator.LOAD_A){
+        knownA = program.operands[address];
+        code.push(knownA).op(ISTORE).op(A);
+        continue;
+      }
+      int flag = program.flags[address];
+      int jump = (flag >> MicroOpEmulator.JUMP_SHIFT) & 0x07;
+      if ((flag & 0x07) == 0 && jump == 0){
+        continue; // Computes a value nobody reads.
+      }
+
+      compute(code, op, program.operands[address]);
+      code.op(I2S).op(ISTORE).op(OUT);
+      if ((flag & MicroOpEmulator.DEST_M) != 0){
+        code.op(ALOAD).op(RAM).op(ILOAD).op(A).push(0x7FFF).op(IAND).op(ILOAD).op(OUT).op(SASTORE);
+      }
+      if ((flag & MicroOpEmulator.DEST_D) != 0){
+        code.op(ILOAD).op(OUT).op(ISTORE).op(D);
+      }
+      int target = knownA;
+      if (jump != 0 && target < 0){
+        code.op(ILOAD).op(A).push(0x7FFF).op(IAND).op(ISTORE).op(TARGET);
+      }
+      if ((flag & MicroOpEmulator.DEST_A) != 0){
+        code.op(ILOAD).op(OUT).op(ISTORE).op(A);
+        knownA = -1;
+      }
+      if (jump != 0){
+        storeRegisters(code);
+        if (jump != 7){
+          code.op(ILOAD).op(OUT);
+          int taken = code.branch(JUMP_OPCODES[jump]);
+          code.push(address + 1).op(IRETURN);
+          code.target(taken);
+        }
+        if (target >= 0){
+          code.push(target);
+        }
+        else{
+          code.op(ILOAD).op(TARGET);
+        }
+        code.op(IRETURN);
+        return code; // A jump always ends the block.
+      }
+    }
+
+    // The block was cut at MAX_BLOCK or at the end of the program.
+    storeRegisters(code);
+    code.push(end).op(IRETURN);
+    return code;
+  }
+
+  private static void storeRegisters(Code code){
+    code.op(ALOAD).op(REGISTERS).push(0).op(ILOAD).op(A).op(IASTORE);
+    code.op(ALOAD).op(REGISTERS).push(1).op(ILOAD).op(D).op(IASTORE);
+  }
+
+  // Pushes the ALU output of a comp micro-op.
+  private void compute(Code code, int op, int control){
+    if (op == MicroOpEmulator.ALU_A || op == MicroOpEmulator.ALU_M){
+      code.push(control).op(ILOAD).op(D);
+      load(code, op == MicroOpEmulator.ALU_M ? 'M' : 'A');
+      code.op(INVOKESTATIC).u2(pool.methodRef("HackEmulator", "alu", "(III)I"));
+      return;
+    }
+
+    String mnemonic = MicroOpEmulator.COMP_MNEMONICS[op - MicroOpEmulator.FIRST_COMP];
+    if (mnemonic.length() == 1){ // 0, 1, D, A or M
+      if (Character.isDigit(mnemonic.charAt(0))){
+        code.push(mnemonic.charAt(0) - '0');
+      }
+      else{
+        load(code, mnemonic.charAt(0));
+      }
+    }
+    else if (mnemonic.equals("-1")){
+      code.push(-1);
+    }
+    else if (mnemonic.charAt(0) == '!'){
+      load(code, mnemonic.charAt(1));
+      code.push(-1).op(IXOR);
+    }
+    else if (mnemonic.charAt(0) == '-'){
+      load(code, mnemonic.charAt(1));
+      code.op(INEG);
+    }
+    else{ // Binary operators, the right operand is 1 or a register.
+      load(code, mnemonic.charAt(0));
+      char right = mnemonic.charAt(2);
+      if (right == '1'){
+        code.push(1);
+      }
+      else{
+        load(code, right);
+      }
+      switch (mnemonic.charAt(1)){
+        case '+': code.op(IADD); break;
+        case '-': code.op(ISUB); break;
+        case '&': code.op(IAND); break;
+        default: code.op(IOR); break;
+      }
+    }
+  }
+
+  private static void load(Code code, char register){
+    switch (register){
+      case 'D': code.op(ILOAD).op(D); break;
+      case 'A': code.op(ILOAD).op(A); break;
+      default: code.op(ALOAD).op(RAM).op(ILOAD).op(A).push(0x7FFF).op(IAND).op(SALOAD); break;
+    }
+  }
+
+  /*
+    Growable bytecode buffer with forward branches that are patched once their target is known.
+  */
+  private final class Code{
+    byte[] bytes = new byte[256];
+    int length = 0;
+
+    Code op(int value){
+      if (length == bytes.length){
+        bytes = Arrays.copyOf(bytes, bytes.length * 2);
+      }
+      bytes[length++] = (byte) value;
+      return this;
+    }
+
+    Code u2(int value){
+      return op(value >> 8).op(value);
+    }
+
+    Code u4(int value){
+      return u2(value >> 16).u2(value);
+    }
+
+    void patch4(int position, int value){
+      bytes[position] = (byte) (value >> 24);
+      bytes[position + 1] = (byte) (value >> 16);
+      bytes[position + 2] = (byte) (value >> 8);
+      bytes[position + 3] = (byte) value;
+    }
+
+    Code push(int value){
+      if (value >= -1 && value <= 5){
+        return op(ICONST_0 + value);
+      }
+      if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE){
+        return op(BIPUSH).op(value);
+      }
+      if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE){
+        return op(SIPUSH).u2(value);
+      }
+      return op(LDC_W).u2(pool.integer(value));
+    }
+
+    // Writes a branch with an unknown target and returns its position for target.
+    int branch(int opcode){
+      int position = length;
+      op(opcode).u2(0);
+      return position;
+    }
+
+    // Points the branch at position to the current end of the code.
+    void target(int position){
+      int offset = length - position;
+      bytes[position + 1] = (byte) (offset >> 8);
+      bytes[position + 2] = (byte) offset;
+    }
+  }
+
+  /*
+    Constant pool of the class, every constant is added once.
+  */
+  private static final class ConstantPool{
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private final Map<String, Integer> indices = new HashMap<>();
+    private int count = 1;
+
+    private int add(String key, int tag, DataWriter value){
+      Integer index = indices.get(key);
+      if (index != null){
+        return index;
+      }
+      try{
+        out.writeByte(tag);
+        value.write(out);
+      } catch (IOException e){
+        throw new UncheckedIOException(e);
+      }
+      indices.put(key, count);
+      return count++;
+    }
+
+    int utf8(String text){
+      return add("U" + text, 1, out -> out.writeUTF(text));
+    }
+
+    int integer(int value){
+      return add("I" + value, 3, out -> out.writeInt(value));
+    }
+
+    int classRef(String name){
+      int nameIndex = utf8(name);
+      return add("C" + name, 7, out -> out.writeShort(nameIndex));
+    }
+
+    int methodRef(String owner, String name, String descriptor){
+      int ownerIndex = classRef(owner);
+      int nameIndex = utf8(name);
+      int descriptorIndex = utf8(descriptor);
+      int nameAndType = add("N" + name + descriptor, 12, out -> {
+        out.writeShort(nameIndex);
+        out.writeShort(descriptorIndex);
+      });
+      return add("M" + owner + "." + name + descriptor, 10, out -> {
+        out.writeShort(ownerIndex);
+        out.writeShort(nameAndType);
+      });
+    }
+
+    void write(DataOutputStream classFile) throws IOException{
+      classFile.writeShort(count);
+      bytes.writeTo(classFile);
+    }
+
+    private interface DataWriter{
+      void write(DataOutputStream out) throws IOException;
+    }
+  }
+}
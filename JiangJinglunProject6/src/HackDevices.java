@@ -0,0 +1,218 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+  Headless screen and keyboard of the Hack computer, memory mapped at the SCREEN and KBD addresses the Assembler
+  predefines.
+
+  The devices drive any of the emulators in slices of cycles. Between slices the key currently held down is
+  written to KBD. Keys come from other threads through a single-slot mailbox, an AtomicInteger holding the key
+  code, so delivering a key never blocks and the CPU loop itself never touches anything shared.
+
+  The screen is 256 rows of 32 words, one bit per pixel with bit 0 the leftmost pixel of a word. After every
+  frame the screen is compared with a copy of the last published frame, and the rows that differ are set in a
+  bitset of four longs. Only when a row changed is the frame handed to the FrameSink, together with that bitset,
+  so a renderer only redraws the changed rows. Comparing against the copy costs nothing in the CPU loop and works
+  with every engine, and a row written with the pixels it already had does not count as changed.
+*/
+public class HackDevices{
+
+  public static final int SCREEN = Assembler.predefinedAddress("SCREEN");
+
+  public static final int KBD = Assembler.predefinedAddress("KBD");
+
+  public static final int ROWS = 256;
+
+  public static final int WORDS_PER_ROW = 32;
+
+  public static final int SCREEN_WORDS = ROWS * WORDS_PER_ROW;
+
+  // Cycles between two keyboard deliveries, about 0.1 ms of a real-time CPU.
+  public static final int KEYBOARD_POLL_CYCLES = 1 << 13;
+
+  /*
+    Receives the frames in which at least one screen row changed, on the thread running the devices.
+    dirtyRows has bit r % 64 of word r / 64 set for every changed row r. The frame can be read through word and
+    pixel during the call. A sink that renders on another thread has to copy the rows it needs before returning.
+  */
+  public interface FrameSink{
+    void frame(HackDevices devices, long[] dirtyRows);
+  }
+
+  private final HackEmulator cpu;
+
+  private final FrameSink sink;
+
+  // The screen as of the last published frame.
+  private final short[] frame = new short[SCREEN_WORDS];
+
+  private final long[] dirtyRows = new long[ROWS / 64];
+
+  // The key held down, 0 for none. Written by any thread, read between slices.
+  private final AtomicInteger keyboard = new AtomicInteger();
+
+  private long frames = 0;
+
+  private long publishedFrames = 0;
+
+  private long redrawnRows = 0;
+
+  public HackDevices(HackEmulator cpu, FrameSink sink){
+    this.cpu = cpu;
+    this.sink = sink;
+    System.arraycopy(cpu.ram, SCREEN, frame, 0, SCREEN_WORDS);
+  }
+
+  /*
+    Holds a key down until release or the next press. Safe to call from any thread.
+  */
+  public void press(int key){
+    keyboard.setRelease(key);
+  }
+
+  public void release(){
+    keyboard.setRelease(0);
+  }
+
+  /*
+    Runs the CPU for one frame of the given number of cycles, then publishes the frame if the screen changed.
+    Returns the number of cycles executed, which is less when the program halts.
+  */
+  public long runFrame(long cycles){
+    long executed = 0;
+    while (executed < cycles && !cpu.halted()){
+      cpu.ram[KBD] = (short) keyboard.getAcquire();
+      executed += cpu.run(Math.min(KEYBOARD_POLL_CYCLES, cycles - executed));
+    }
+    frames++;
+    if (findDirtyRows()){
+      publishedFrames++;
+      sink.frame(this, dirtyRows);
+    }
+    return executed;
+  }
+
+  /*
+    Compares the screen with the last frame, marking and copying every row that changed.
+  */
+  private boolean findDirtyRows(){
+    Arrays.fill(dirtyRows, 0);
+    short[] ram = cpu.ram;
+    boolean changed = false;
+    int word = 0;
+    while (word < SCREEN_WORDS){
+      int mismatch = Arrays.mismatch(ram, SCREEN + word, SCREEN + SCREEN_WORDS, frame, word, SCREEN_WORDS);
+      if (mismatch == -1){
+        break;
+      }
+      int row = (word + mismatch) / WORDS_PER_ROW;
+      dirtyRows[row >> 6] |= 1L << row;
+      System.arraycopy(ram, SCREEN + row * WORDS_PER_ROW, frame, row * WORDS_PER_ROW, WORDS_PER_ROW);
+      redrawnRows++;
+      changed = true;
+      word = (row + 1) * WORDS_PER_ROW;
+    }
+    return changed;
+  }
+
+  public short word(int row, int column){
+    return frame[row * WORDS_PER_ROW + column];
+  }
+
+  public boolean pixel(int x, int y){
+    return (word(y, x / 16) & (1 << (x % 16))) != 0;
+  }
+
+  public HackEmulator cpu(){
+    return cpu;
+  }
+
+  public long frames(){
+    return frames;
+  }
+
+  public long publishedFrames(){
+    return publishedFrames;
+  }
+
+  public long redrawnRows(){
+    return redrawnRows;
+  }
+
+  /*
+    Writes the last published frame as a binary PBM image, 512 by 256 with black pixels set.
+  */
+  public void writePbm(String path) throws IOException{
+    try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(Paths.get(path)))){
+      output.write(("P4\n" + WORDS_PER_ROW * 16 + " " + ROWS + "\n").getBytes("US-ASCII"));
+      for (short word : frame){
+        int pixels = Integer.reverse(word) >>> 16; // PBM puts the leftmost pixel in the highest bit.
+        output.write(pixels >> 8);
+        output.write(pixels);
+      }
+    }
+  }
+
+  /*
+    java HackDevices [--tiered] <program> [frames] [cycles per frame] [image.pbm]
+    Runs a program headless. Key codes typed on standard input, one per line, are held down until the next line,
+    0 releases the key. Prints how many frames changed the screen and how many rows were redrawn, and writes the
+    last frame to the image if one is given.
+  */
+  public static void main(String[] args){
+    boolean tiered = args.length > 0 && args[0].equals("--tiered");
+    int first = tiered ? 1 : 0;
+    if (args.length == first){
+      System.out.println("Usage: java HackDevices [--tiered] <program> [frames] [cycles per frame] [image.pbm]");
+      return;
+    }
+
+    HackEmulator cpu = tiered ? new TieredEmulator() : new MicroOpEmulator();
+    long frameCount;
+    long cyclesPerFrame;
+    try{
+      cpu.load(HackEmulator.readProgram(args[first]));
+      frameCount = args.length > first + 1 ? Long.parseLong(args[first + 1]) : 600;
+      cyclesPerFrame = args.length > first + 2 ? Long.parseLong(args[first + 2]) : 100_000;
+    } catch (IOException e){
+      System.err.println("Error reading program: " + e.getMessage());
+      return;
+    } catch (IllegalArgumentException e){
+      System.err.println("Invalid argument: " + e.getMessage());
+      return;
+    }
+
+    HackDevices devices = new HackDevices(cpu, (frame, dirtyRows) -> { });
+    Thread keys = new Thread(() -> {
+      try (BufferedReader input = new BufferedReader(new InputStreamReader(System.in))){
+        String line;
+        while ((line = input.readLine()) != null){
+          devices.press(Integer.parseInt(line.trim()));
+        }
+      } catch (IOException | NumberFormatException e){
+        devices.release();
+      }
+    }, "hack-keyboard");
+    keys.setDaemon(true);
+    keys.start();
+
+    long start = System.nanoTime();
+    for (long frame = 0; frame < frameCount && !cpu.halted(); frame++){
+      devices.runFrame(cyclesPerFrame);
+    }
+    long elapsed = System.nanoTime() - start;
+
+    System.out.println(String.format("%d frames, %d with screen changes, %d rows redrawn instead of %d, %d cycles in %.1f ms",
+        devices.frames(), devices.publishedFrames(), devices.redrawnRows(), devices.frames() * ROWS, cpu.cycles(),
+        elapsed / 1e6));
+    if (args.length > first + 3){
+      try{
+        devices.writePbm(args[first + 3]);
+      } catch (IOException e){
+        System.err.println("Error writing image: " + e.getMessage());
+      }
+    }
+  }
+}
@@ -0,0 +1,311 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/*
+  Hack computer emulator following the CPU.hdl, Memory.hdl and Computer.hdl of Project 5.
+
+  Each cycle executes one ROM word. An A-instruction loads A. A C-instruction computes the ALU function of D and
+  A (or M = RAM[A]) from the comp bits of the Assembler's compTable, stores the result in the destinations, and
+  jumps to the old value of A when the jump condition holds for the result. All registers are 16 bits wide and
+  M addresses RAM with the low 15 bits of A, like the hardware.
+
+  The machine halts when it reaches the end of the program, or when it jumps into the usual "(END) @END 0;JMP"
+  loop, which could not change the state any more.
+*/
+public class HackEmulator{
+
+  public static final int ROM_SIZE = 32768;
+
+  public static final int RAM_SIZE = 32768;
+
+  final short[] rom = new short[ROM_SIZE];
+
+  final short[] ram = new short[RAM_SIZE];
+
+  int programLength = 0;
+
+  int a = 0, d = 0, pc = 0;
+
+  long cycles = 0;
+
+  boolean halted = false;
+
+  /*
+    Loads a program into ROM and resets the CPU. RAM keeps its contents, like on the real computer.
+  */
+  public void load(short[] program){
+    if (program.length > ROM_SIZE){
+      throw new IllegalArgumentException("Program does not fit in the " + ROM_SIZE + " word ROM");
+    }
+    Arrays.fill(rom, (short) 0);
+    System.arraycopy(program, 0, rom, 0, program.length);
+    programLength = program.length;
+    reset();
+  }
+
+  public void reset(){
+    a = 0;
+    d = 0;
+    pc = 0;
+    cycles = 0;
+    halted = programLength == 0;
+  }
+
+  /*
+    Reads a program from a .hack text file, a RomImage (.hrom) or an .asm source, which is assembled first.
+  */
+  public static short[] readProgram(String path) throws IOException{
+    if (path.endsWith(".hrom")){
+      return RomImage.load(path);
+    }
+    if (path.endsWith(".asm")){
+      return new Assembler().assembleWords(Assembler.fileSource(path), null);
+    }
+    List<String> lines = Files.readAllLines(Paths.get(path));
+    short[] program = new short[lines.size()];
+    int count = 0;
+    for (String line : lines){
+      line = line.trim();
+      if (!line.isEmpty()){
+        if (line.length() != 16){
+          throw new IOException("Not a 16 bit instruction: " + line);
+        }
+        program[count++] = (short) Integer.parseInt(line, 2);
+      }
+    }
+    return Arrays.copyOf(program, count);
+  }
+
+  /*
+    Runs until the machine halts or maxCycles more instructions were executed.
+    Returns the number of instructions executed by this call.
+  */
+  public long run(long maxCycles){
+    final short[] rom = this.rom;
+    final short[] ram = this.ram;
+    final int end = programLength;
+    int a = this.a, d = this.d, pc = this.pc;
+    long executed = 0;
+    boolean halted = this.halted;
+
+    while (!halted && executed < maxCycles){
+      int instruction = rom[pc];
+      executed++;
+
+      if (instruction >= 0){ // A-instruction, bit 15 is 0.
+        a = instruction;
+        pc++;
+      }
+      else{
+        int x = d;
+        int y = (instruction & 0x1000) != 0 ? ram[a & 0x7FFF] : a;
+        int out = (short) compute((instruction >> 6) & 0x3F, x, y);
+
+        if ((instruction & 0x08) != 0){ // M, addressed by the old value of A.
+          ram[a & 0x7FFF] = (short) out;
+        }
+        if ((instruction & 0x10) != 0){
+          d = out;
+        }
+        int target = a & 0x7FFF;
+        if ((instruction & 0x20) != 0){
+          a = out;
+        }
+
+        if (jumps(instruction, out)){
+          // Jumping back to "@self" with nothing stored is a loop that never changes the state again.
+          halted = target == pc - 1 && rom[target] == target && (instruction & 0x38) == 0;
+          pc = target;
+        }
+        else{
+          pc++;
+        }
+      }
+      halted |= pc >= end;
+    }
+
+    this.a = a;
+    this.d = d;
+    this.pc = pc;
+    this.halted = halted;
+    cycles += executed;
+    return executed;
+  }
+
+  static boolean jumps(int instruction, int out){
+    switch (instruction & 0x07){
+      case 0: return false;
+      case 1: return out > 0;   // JGT
+      case 2: return out == 0;  // JEQ
+      case 3: return out >= 0;  // JGE
+      case 4: return out < 0;   // JLT
+      case 5: return out != 0;  // JNE
+      case 6: return out <= 0;  // JLE
+      default: return true;     // JMP
+    }
+  }
+
+  /*
+    The ALU of CPU.hdl for the six control bits zx nx zy ny f no, with y being A or M.
+    The comp codes of the Assembler's compTable are listed first, anything else goes through the gate logic.
+  */
+  static int compute(int control, int x, int y){
+    switch (control){
+      case 0b101010: return 0;
+      case 0b111111: return 1;
+      case 0b111010: return -1;
+      case 0b001100: return x;
+      case 0b110000: return y;
+      case 0b001101: return ~x;
+      case 0b110001: return ~y;
+      case 0b001111: return -x;
+      case 0b110011: return -y;
+      case 0b011111: return x + 1;
+      case 0b110111: return y + 1;
+      case 0b001110: return x - 1;
+      case 0b110010: return y - 1;
+      case 0b000010: return x + y;
+      case 0b010011: return x - y;
+      case 0b000111: return y - x;
+      case 0b000000: return x & y;
+      case 0b010101: return x | y;
+      default: return alu(control, x, y);
+    }
+  }
+
+  static int alu(int control, int x, int y){
+    if ((control & 0x20) != 0) x = 0;   // zx
+    if ((control & 0x10) != 0) x = ~x;  // nx
+    if ((control & 0x08) != 0) y = 0;   // zy
+    if ((control & 0x04) != 0) y = ~y;  // ny
+    int out = (control & 0x02) != 0 ? x + y : x & y; // f
+    return (control & 0x01) != 0 ? ~out : out;        // no
+  }
+
+  public int a(){
+    return a;
+  }
+
+  public int d(){
+    return d;
+  }
+
+  public int pc(){
+    return pc;
+  }
+
+  public long cycles(){
+    return cycles;
+  }
+
+  public boolean halted(){
+    return halted;
+  }
+
+  public short peek(int address){
+    return ram[address];
+  }
+
+  public void poke(int address, int value){
+    ram[address] = (short) value;
+  }
+
+  /*
+    Compares the registers, pc, cycle count and RAM of two emulators. Returns null when they are the same,
+    otherwise a description of the first difference.
+  */
+  static String compare(HackEmulator expected, HackEmulator actual){
+    if (expected.a != actual.a || expected.d != actual.d || expected.pc != actual.pc){
+      return "A, D, pc are " + actual.a + ", " + actual.d + ", " + actual.pc + " instead of "
+          + expected.a + ", " + expected.d + ", " + expected.pc;
+    }
+    if (expected.cycles != actual.cycles || expected.halted != actual.halted){
+      return "cycles are " + actual.cycles + (actual.halted ? " (halted)" : "") + " instead of " + expected.cycles
+          + (expected.halted ? " (halted)" : "");
+    }
+    for (int address = 0; address < RAM_SIZE; address++){
+      if (expected.ram[address] != actual.ram[address]){
+        return "RAM[" + address + "] is " + actual.ram[address] + " instead of " + expected.ram[address];
+      }
+    }
+    return null;
+  }
+
+  /*
+    java HackEmulator [--decoded | --tiered | --differential] <program.hack|.hrom|.asm> [max cycles] [address=value ...]
+    Sets the given RAM words, runs the program and prints R0 to R15 with the speed of the run.
+    --decoded runs the program on the MicroOpEmulator and --tiered on the TieredEmulator.
+    --differential runs the TieredEmulator and this interpreter side by side and compares them every million cycles.
+  */
+  public static void main(String[] args){
+    String engine = args.length > 0 && args[0].startsWith("--") ? args[0] : "";
+    int first = engine.isEmpty() ? 0 : 1;
+    if (args.length == first || !Arrays.asList("", "--decoded", "--tiered", "--differential").contains(engine)){
+      System.out.println("Usage: java HackEmulator [--decoded | --tiered | --differential] <program> [max cycles] [address=value ...]");
+      return;
+    }
+
+    HackEmulator emulator = engine.equals("--decoded") ? new MicroOpEmulator()
+        : engine.isEmpty() ? new HackEmulator() : new TieredEmulator();
+    HackEmulator reference = engine.equals("--differential") ? new HackEmulator() : null;
+    long maxCycles = Long.MAX_VALUE;
+    try{
+      short[] program = readProgram(args[first]);
+      emulator.load(program);
+      if (reference != null){
+        reference.load(program);
+      }
+      for (int i = first + 1; i < args.length; i++){
+        int equalIndex = args[i].indexOf('=');
+        if (equalIndex == -1){
+          maxCycles = Long.parseLong(args[i]);
+        }
+        else{
+          int address = Integer.parseInt(args[i].substring(0, equalIndex));
+          int value = Integer.parseInt(args[i].substring(equalIndex + 1));
+          emulator.poke(address, value);
+          if (reference != null){
+            reference.poke(address, value);
+          }
+        }
+      }
+    } catch (IOException e){
+      System.err.println("Error reading program: " + e.getMessage());
+      return;
+    } catch (IllegalArgumentException e){
+      System.err.println("Invalid argument: " + e.getMessage());
+      return;
+    }
+
+    long start = System.nanoTime();
+    if (reference == null){
+      emulator.run(maxCycles);
+    }
+    else{
+      while (!reference.halted() && reference.cycles() < maxCycles){
+        long step = Math.min(1_000_000, maxCycles - reference.cycles());
+        reference.run(step);
+        emulator.run(step);
+        String difference = compare(reference, emulator);
+        if (difference != null){
+          System.out.println("Differs from the interpreter after " + reference.cycles() + " cycles: " + difference);
+          return;
+        }
+      }
+      System.out.println("Matches the interpreter for " + reference.cycles() + " cycles");
+    }
+    long elapsed = System.nanoTime() - start;
+
+    System.out.println((emulator.halted() ? "Halted" : "Stopped") + " after " + emulator.cycles() + " cycles at pc " + emulator.pc()
+        + String.format(" (%.1f ms, %.1f million instructions per second)", elapsed / 1e6, emulator.cycles() * 1e3 / Math.max(elapsed, 1)));
+    if (emulator instanceof TieredEmulator){
+      TieredEmulator tiered = (TieredEmulator) emulator;
+      System.out.println(tiered.compiledBlocks() + " blocks compiled, " + tiered.compiledCycles() + " cycles in compiled code"
+          + (tiered.compileError() == null ? "" : ", " + tiered.compileError()));
+    }
+    for (int i = 0; i < 16; i++){
+      System.out.println("R" + i + " = " + emulator.peek(i));
+    }
+  }
+}
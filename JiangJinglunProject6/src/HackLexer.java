@@ -0,0 +1,202 @@
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/*
+  Splits raw Hack assembly bytes into instruction and label tokens in a single scan.
+
+  Comments and spaces are removed the same way the old per-line commentRemover did it: "//" ends the line,
+  "/*" and "*\/" open and close a block comment that may span lines, every space is dropped and the other
+  whitespace is trimmed from both ends of the line.
+
+  The kept bytes of a line are compacted in place inside the read buffer, so every token is a slice
+  (start, end) of that buffer and nothing is allocated per line. The lexer itself is a CharSequence view
+  of the current token, which the encoder reads directly.
+*/
+public class HackLexer implements CharSequence{
+
+  private final InputStream input;
+
+  private byte[] buffer;
+
+  // Next unread byte, end of the valid bytes, and how far the search for the next line end got.
+  private int position = 0, limit = 0, scanned = 0;
+
+  private boolean endOfInput = false;
+
+  private boolean inComment = false;
+
+  // Set after a line ended with '\r', so the '\n' of a "\r\n" does not count as another line.
+  private boolean skipLineFeed = false;
+
+  private int start, end;
+
+  private int lineNumber = 0;
+
+  private long bytesRead = 0;
+
+  public HackLexer(InputStream input){
+    this.input = input;
+    this.buffer = new byte[1 << 16];
+  }
+
+  /*
+    Lexer without an input, used to clean lines one at a time with cleanLine.
+  */
+  public HackLexer(){
+    this.input = null;
+    this.buffer = new byte[0];
+    this.endOfInput = true;
+  }
+
+  /*
+    Moves to the next non-empty token, returns false at the end of the input.
+  */
+  public boolean next() throws IOException{
+    while (true){
+      if (skipLineFeed){
+        if (position == limit && !endOfInput){
+          fill();
+          continue;
+        }
+        if (position < limit && buffer[position] == '\n'){
+          position++;
+        }
+        skipLineFeed = false;
+      }
+
+      int lineEnd = findLineEnd();
+      if (lineEnd < 0){
+        if (!endOfInput){
+          fill();
+          continue;
+        }
+        if (position == limit){
+          return false;
+        }
+        lineEnd = limit;
+      }
+
+      lineNumber++;
+      clean(position, lineEnd);
+      skipLineFeed = lineEnd < limit && buffer[lineEnd] == '\r';
+      position = Math.min(lineEnd + 1, limit);
+      scanned = position;
+
+      if (end > start){
+        return true;
+      }
+    }
+  }
+
+  private int findLineEnd(){
+    for (int i = Math.max(scanned, position); i < limit; i++){
+      byte b = buffer[i];
+      if (b == '\n' || b == '\r'){
+        return i;
+      }
+    }
+    scanned = limit;
+    return -1;
+  }
+
+  /*
+    Moves the unfinished line to the front of the buffer and reads more input after it.
+    The buffer only grows when a single line does not fit in it.
+  */
+  private void fill() throws IOException{
+    int remaining = limit - position;
+    if (position > 0){
+      System.arraycopy(buffer, position, buffer, 0, remaining);
+      scanned -= position;
+      position = 0;
+      limit = remaining;
+    }
+    if (limit == buffer.length){
+      byte[] larger = new byte[buffer.length * 2];
+      System.arraycopy(buffer, 0, larger, 0, limit);
+      buffer = larger;
+    }
+    int read = input.read(buffer, limit, buffer.length - limit);
+    if (read < 0){
+      endOfInput = true;
+    }
+    else{
+      limit += read;
+      bytesRead += read;
+    }
+  }
+
+  /*
+    Removes the comments and spaces of the line [from, to) in place and sets the token to what is left.
+  */
+  private void clean(int from, int to){
+    byte[] bytes = buffer;
+    int write = from;
+    for (int i = from; i < to; i++){
+      byte c = bytes[i];
+      if (c == '/' && i + 1 < to && bytes[i + 1] == '*'){
+        inComment = true;
+      }
+      else if (c == '*' && i + 1 < to && bytes[i + 1] == '/'){
+        inComment = false;
+        i++; // In order to skip the part of the comment.
+      }
+      else if (c == '/' && i + 1 < to && bytes[i + 1] == '/'){
+        break;
+      }
+      else if (!inComment && c != ' '){
+        bytes[write++] = c;
+      }
+    }
+
+    int first = from;
+    while (first < write && (bytes[first] & 0xFF) <= ' '){
+      first++;
+    }
+    while (write > first && (bytes[write - 1] & 0xFF) <= ' '){
+      write--;
+    }
+    start = first;
+    end = write;
+  }
+
+  /*
+    Cleans a single line, keeping the block comment state from the previous call.
+    Returns the empty String when nothing but comments and whitespace is left.
+  */
+  public String cleanLine(String line){
+    buffer = line.getBytes(StandardCharsets.UTF_8);
+    clean(0, buffer.length);
+    return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+  }
+
+  // Bytes read from the input so far.
+  public long bytesRead(){
+    return bytesRead;
+  }
+
+  // Line of the current token, counting from 1.
+  public int lineNumber(){
+    return lineNumber;
+  }
+
+  @Override
+  public int length(){
+    return end - start;
+  }
+
+  @Override
+  public char charAt(int index){
+    return (char) (buffer[start + index] & 0xFF);
+  }
+
+  @Override
+  public CharSequence subSequence(int from, int to){
+    return new String(buffer, start + from, to - from, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String toString(){
+    return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,206 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/*
+  MicroOpEmulator that counts how often every ROM address executes, and reports the counts against the labels and
+  source lines of a SourceMap.
+
+  Like tier 0 of the TieredEmulator it runs one block at a time, up to and including the next jump. The
+  instructions of a block always run together, so instead of a counter update per instruction a block adds one
+  to a difference array at its first address and subtracts one after its last. The per-address counts are the
+  running sum of that array. A block that jumped also counts the jump as taken, which gives the iterations of
+  every loop.
+
+  The report has three parts: the hottest instructions, the cycles spent under every label, and the loops, which
+  are the jumps back to a constant "@LABEL" at or before them. A loop's cycles include its inner loops.
+*/
+public class HackProfiler extends MicroOpEmulator{
+
+  // Lines in each part of the report.
+  static final int REPORT_LINES = 20;
+
+  // Length of the block starting at each address, to the next jump or the end of the program.
+  private final int[] blockLength = new int[ROM_SIZE + 1];
+
+  // Block entries minus block exits by address, see counts.
+  private final long[] delta = new long[ROM_SIZE + 2];
+
+  // Times the jump at each address was taken.
+  private final long[] taken = new long[ROM_SIZE + 1];
+
+  @Override
+  void decode(){
+    super.decode();
+    Arrays.fill(delta, 0);
+    Arrays.fill(taken, 0);
+    blockLength[programLength] = 0;
+    for (int address = programLength - 1; address >= 0; address--){
+      boolean jump = ops[address] != LOAD_A && (flags[address] >> JUMP_SHIFT & 0x07) != 0;
+      blockLength[address] = jump ? 1 : blockLength[address + 1] + 1;
+    }
+  }
+
+  @Override
+  public long run(long maxCycles){
+    final int[] blockLength = this.blockLength;
+    final long[] delta = this.delta;
+    long executed = 0;
+    while (!halted && executed < maxCycles){
+      int entry = pc;
+      int count = (int) super.run(Math.min(blockLength[entry], maxCycles - executed));
+      executed += count;
+      delta[entry]++;
+      delta[entry + count]--;
+      if (count > 0 && pc != entry + count){
+        taken[entry + count - 1]++;
+      }
+    }
+    return executed;
+  }
+
+  /*
+    Number of times each address was executed.
+  */
+  public long[] counts(){
+    long[] counts = new long[programLength];
+    long running = 0;
+    for (int address = 0; address < programLength; address++){
+      running += delta[address];
+      counts[address] = running;
+    }
+    return counts;
+  }
+
+  // Number of times the jump at an address was taken.
+  public long taken(int address){
+    return taken[address];
+  }
+
+  /*
+    Writes the hot spot, label and loop report. map may be null, then only addresses are shown.
+    source holds the lines of the .asm file, or is null.
+  */
+  public void report(SourceMap map, List<String> source, PrintStream out){
+    long[] counts = counts();
+    long total = Math.max(cycles, 1);
+
+    out.println("Hot spots (" + cycles + " cycles):");
+    out.println(String.format("  %12s %6s %7s %6s  %-24s %s", "cycles", "%", "address", "line", "label", "instruction"));
+    Integer[] addresses = new Integer[programLength];
+    for (int address = 0; address < programLength; address++){
+      addresses[address] = address;
+    }
+    Arrays.sort(addresses, (x, y) -> Long.compare(counts[y], counts[x]));
+    for (int i = 0; i < Math.min(REPORT_LINES, addresses.length) && counts[addresses[i]] > 0; i++){
+      int address = addresses[i];
+      int line = map == null ? 0 : map.line(address);
+      out.println(String.format("  %12d %6.2f %7d %6s  %-24s %s", counts[address], counts[address] * 100.0 / total, address,
+          line == 0 ? "" : String.valueOf(line), map == null ? "" : map.labelAt(address), instruction(address, line, source)));
+    }
+
+    if (map != null){
+      out.println();
+      out.println("Labels:");
+      out.println(String.format("  %12s %6s  %s", "cycles", "%", "label"));
+      long[] labelCycles = new long[map.labelCount() + 1]; // The last one collects the code before the first label.
+      for (int address = 0; address < programLength; address++){
+        int label = map.labelIndexAt(address);
+        labelCycles[label == -1 ? map.labelCount() : label] += counts[address];
+      }
+      Integer[] labels = new Integer[labelCycles.length];
+      for (int label = 0; label < labels.length; label++){
+        labels[label] = label;
+      }
+      Arrays.sort(labels, (x, y) -> Long.compare(labelCycles[y], labelCycles[x]));
+      for (int i = 0; i < Math.min(REPORT_LINES, labels.length) && labelCycles[labels[i]] > 0; i++){
+        int label = labels[i];
+        out.println(String.format("  %12d %6.2f  %s", labelCycles[label], labelCycles[label] * 100.0 / total,
+            label == map.labelCount() ? "<start>" : map.labelName(label)));
+      }
+    }
+
+    out.println();
+    out.println("Loops:");
+    out.println(String.format("  %12s %6s %12s %13s  %s", "cycles", "%", "iterations", "addresses", "head"));
+    List<long[]> loops = new ArrayList<>(); // {cycles, head, jump}
+    long[] prefix = new long[programLength + 1];
+    for (int address = 0; address < programLength; address++){
+      prefix[address + 1] = prefix[address] + counts[address];
+    }
+    for (int address = 1; address < programLength; address++){
+      int head = rom[address - 1];
+      boolean backJump = ops[address] != LOAD_A && (flags[address] & SELF_LOOP) == 0
+          && (flags[address] >> JUMP_SHIFT & 0x07) != 0 && ops[address - 1] == LOAD_A && head <= address;
+      if (backJump && taken[address] > 0){
+        loops.add(new long[]{prefix[address + 1] - prefix[head], head, address});
+      }
+    }
+    loops.sort((x, y) -> Long.compare(y[0], x[0]));
+    for (int i = 0; i < Math.min(REPORT_LINES, loops.size()); i++){
+      long[] loop = loops.get(i);
+      int head = (int) loop[1], jump = (int) loop[2];
+      out.println(String.format("  %12d %6.2f %12d %13s  %s", loop[0], loop[0] * 100.0 / total, taken[jump],
+          head + "-" + jump, map == null ? "" : map.labelAt(head) + (map.line(head) == 0 ? "" : " (line " + map.line(head) + ")")));
+    }
+  }
+
+  private String instruction(int address, int line, List<String> source){
+    if (source != null && line > 0 && line <= source.size()){
+      return source.get(line - 1).trim();
+    }
+    return Assembler.toBinary(rom[address]);
+  }
+
+  /*
+    java HackProfiler <program.asm|.hack|.hrom> [max cycles] [address=value ...]
+    Runs the program and prints where its cycles went. An .asm program is mapped to its source directly, for a
+    .hack or .hrom file the .map the Assembler wrote next to it with --source-map is used when there is one.
+  */
+  public static void main(String[] args){
+    if (args.length == 0){
+      System.out.println("Usage: java HackProfiler <program.asm|.hack|.hrom> [max cycles] [address=value ...]");
+      return;
+    }
+
+    HackProfiler profiler = new HackProfiler();
+    SourceMap map = null;
+    List<String> source = null;
+    long maxCycles = Long.MAX_VALUE;
+    try{
+      profiler.load(HackEmulator.readProgram(args[0]));
+      if (args[0].endsWith(".asm")){
+        map = new Assembler().sourceMap(Assembler.fileSource(args[0]));
+      }
+      else if (Files.exists(Paths.get(Assembler.sourceMapPath(args[0])))){
+        map = SourceMap.read(Assembler.sourceMapPath(args[0]));
+      }
+      if (map != null && Files.exists(Paths.get(map.source()))){
+        source = Files.readAllLines(Paths.get(map.source()));
+      }
+      for (int i = 1; i < args.length; i++){
+        int equalIndex = args[i].indexOf('=');
+        if (equalIndex == -1){
+          maxCycles = Long.parseLong(args[i]);
+        }
+        else{
+          profiler.poke(Integer.parseInt(args[i].substring(0, equalIndex)), Integer.parseInt(args[i].substring(equalIndex + 1)));
+        }
+      }
+    } catch (IOException e){
+      System.err.println("Error reading program: " + e.getMessage());
+      return;
+    } catch (IllegalArgumentException e){
+      System.err.println("Invalid argument: " + e.getMessage());
+      return;
+    }
+
+    long start = System.nanoTime();
+    profiler.run(maxCycles);
+    long elapsed = System.nanoTime() - start;
+    System.out.println((profiler.halted() ? "Halted" : "Stopped") + " after " + profiler.cycles() + " cycles at pc " + profiler.pc()
+        + String.format(" (%.1f ms, %.1f million instructions per second)", elapsed / 1e6, profiler.cycles() * 1e3 / Math.max(elapsed, 1)));
+    System.out.println();
+    profiler.report(map, source, System.out);
+  }
+}
@@ -0,0 +1,312 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+
+/*
+  Checkpoint of a whole Hack machine (ROM, RAM, A, D, pc, cycle count) in a memory-mapped file, for rewinding a
+  run, forking it into another emulator, or resuming it after the process died.
+
+  Layout, big-endian:
+    bytes 0-3    magic "HSNP"
+    bytes 4-7    format version
+    bytes 8-15   generation, the number of checkpoints completed
+    bytes 16-63  reserved, always 0
+  followed by two slots of SLOT_SIZE bytes, each
+    bytes 0-3    program length
+    bytes 4-15   A, D, pc
+    bytes 16-19  1 when halted
+    bytes 20-23  reserved, always 0
+    bytes 24-31  cycle count
+    bytes 32-63  reserved, always 0
+    bytes 64-    the 32K words of ROM, then the 32K words of RAM
+
+  The last checkpoint is in slot generation % 2, and a checkpoint always writes the other slot: its pages, then
+  its registers, forces them to disk, and only then counts up the generation. A crash at any point before that
+  leaves the last checkpoint untouched and the generation pointing at it, so open always finds a complete state.
+
+  ROM and RAM are divided into pages of PAGE_WORDS words. A copy of each slot is kept on the heap, and a page is
+  dirty when the machine's page differs from the copy, which Arrays.mismatch finds with vector compares. A
+  checkpoint writes only the pages that differ from the slot it overwrites, the state of two checkpoints ago,
+  and a restore copies back only the pages that changed since the last one, so neither depends on the size of
+  the image. Finding the pages by comparing needs no hook in the emulators' store paths, and works for every
+  engine and for restoring into a different emulator than the one that was saved.
+*/
+public class HackSnapshot implements Closeable{
+
+  public static final int MAGIC = 0x48534E50; // "HSNP"
+
+  public static final int VERSION = 2;
+
+  public static final int HEADER_SIZE = 64;
+
+  public static final int PAGE_WORDS = 512;
+
+  public static final int SLOT_SIZE = HEADER_SIZE + 2 * (HackEmulator.ROM_SIZE + HackEmulator.RAM_SIZE);
+
+  public static final int FILE_SIZE = HEADER_SIZE + 2 * SLOT_SIZE;
+
+  private static final int GENERATION = 8;
+
+  // Offsets in a slot.
+  private static final int PROGRAM_LENGTH = 0, A = 4, D = 8, PC = 12, HALTED = 16, CYCLES = 24;
+
+  private final FileChannel channel;
+
+  private final MappedByteBuffer buffer;
+
+  private final ShortBuffer[] romWords = new ShortBuffer[2];
+
+  private final ShortBuffer[] ramWords = new ShortBuffer[2];
+
+  // The ROM and RAM of each slot, the same as in the file.
+  private final short[][] rom = new short[2][HackEmulator.ROM_SIZE];
+
+  private final short[][] ram = new short[2][HackEmulator.RAM_SIZE];
+
+  private HackSnapshot(Path path, boolean create) throws IOException{
+    channel = create
+        ? FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE,
+            StandardOpenOption.TRUNCATE_EXISTING)
+        : FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try{
+      if (!create && channel.size() != FILE_SIZE){
+        throw new IOException("Not a Hack snapshot: " + path);
+      }
+      buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, FILE_SIZE);
+    } catch (IOException e){
+      channel.close();
+      throw e;
+    }
+    for (int slot = 0; slot < 2; slot++){
+      romWords[slot] = buffer.slice(romOffset(slot), 2 * HackEmulator.ROM_SIZE).asShortBuffer();
+      ramWords[slot] = buffer.slice(ramOffset(slot), 2 * HackEmulator.RAM_SIZE).asShortBuffer();
+    }
+  }
+
+  private static int slotOffset(int slot){
+    return HEADER_SIZE + slot * SLOT_SIZE;
+  }
+
+  private static int romOffset(int slot){
+    return slotOffset(slot) + HEADER_SIZE;
+  }
+
+  private static int ramOffset(int slot){
+    return romOffset(slot) + 2 * HackEmulator.ROM_SIZE;
+  }
+
+  // The slot of the last checkpoint.
+  private int current(){
+    return (int) (buffer.getLong(GENERATION) & 1);
+  }
+
+  /*
+    Creates an empty snapshot, replacing the file. Its first checkpoint writes only the pages that are not zero.
+  */
+  public static HackSnapshot create(String path) throws IOException{
+    HackSnapshot snapshot = new HackSnapshot(Paths.get(path), true);
+    snapshot.buffer.putInt(0, MAGIC);
+    snapshot.buffer.putInt(4, VERSION);
+    snapshot.buffer.force();
+    return snapshot;
+  }
+
+  /*
+    Opens the snapshot of an earlier run, to restore or continue its last completed checkpoint.
+  */
+  public static HackSnapshot open(String path) throws IOException{
+    HackSnapshot snapshot = new HackSnapshot(Paths.get(path), false);
+    if (snapshot.buffer.getInt(0) != MAGIC || snapshot.buffer.getInt(4) != VERSION){
+      snapshot.close();
+      throw new IOException("Not a Hack snapshot: " + path);
+    }
+    // Both slots, as the one a checkpoint was interrupted in is the next to be written.
+    for (int slot = 0; slot < 2; slot++){
+      snapshot.romWords[slot].get(0, snapshot.rom[slot]);
+      snapshot.ramWords[slot].get(0, snapshot.ram[slot]);
+    }
+    return snapshot;
+  }
+
+  /*
+    Pages of live that differ from the checkpoint copy, bit i for page i.
+  */
+  private static long dirtyPages(short[] live, short[] saved){
+    long dirty = 0;
+    int page = 0;
+    while (page < live.length / PAGE_WORDS){
+      int from = page * PAGE_WORDS;
+      int mismatch = Arrays.mismatch(live, from, live.length, saved, from, saved.length);
+      if (mismatch == -1){
+        break;
+      }
+      page = (from + mismatch) / PAGE_WORDS;
+      dirty |= 1L << page;
+      page++;
+    }
+    return dirty;
+  }
+
+  /*
+    RAM pages the emulator changed since the last checkpoint, bit i for the words from i * PAGE_WORDS.
+  */
+  public long dirtyPages(HackEmulator emulator){
+    return dirtyPages(emulator.ram, ram[current()]);
+  }
+
+  /*
+    Saves the state of the emulator into the slot after the last checkpoint, writing only the pages that differ
+    from what that slot holds. The checkpoint counts only once everything is on disk.
+    Returns the number of pages written.
+  */
+  public int checkpoint(HackEmulator emulator) throws IOException{
+    long generation = buffer.getLong(GENERATION);
+    int slot = (int) ((generation + 1) & 1);
+    int written = writePages(dirtyPages(emulator.rom, rom[slot]), emulator.rom, rom[slot], romWords[slot], romOffset(slot))
+        + writePages(dirtyPages(emulator.ram, ram[slot]), emulator.ram, ram[slot], ramWords[slot], ramOffset(slot));
+
+    int offset = slotOffset(slot);
+    buffer.putInt(offset + PROGRAM_LENGTH, emulator.programLength);
+    buffer.putInt(offset + A, emulator.a);
+    buffer.putInt(offset + D, emulator.d);
+    buffer.putInt(offset + PC, emulator.pc);
+    buffer.putInt(offset + HALTED, emulator.halted ? 1 : 0);
+    buffer.putLong(offset + CYCLES, emulator.cycles);
+    buffer.force(offset, HEADER_SIZE);
+
+    buffer.putLong(GENERATION, generation + 1);
+    buffer.force(GENERATION, 8);
+    return written;
+  }
+
+  // Writes and forces the given pages, words is the region of the buffer starting at offset.
+  private int writePages(long pages, short[] live, short[] saved, ShortBuffer words, int offset){
+    int count = 0;
+    for (long rest = pages; rest != 0; rest &= rest - 1){
+      int from = Long.numberOfTrailingZeros(rest) * PAGE_WORDS;
+      words.put(from, live, from, PAGE_WORDS);
+      buffer.force(offset + 2 * from, 2 * PAGE_WORDS);
+      System.arraycopy(live, from, saved, from, PAGE_WORDS);
+      count++;
+    }
+    return count;
+  }
+
+  /*
+    Puts the emulator back into the state of the last checkpoint, copying only the RAM pages that differ from it.
+    The emulator need not be the one that was saved. When its program is not the saved one, the saved program
+    is loaded, which also decodes it again. Returns the number of pages copied.
+  */
+  public int restore(HackEmulator emulator){
+    int slot = current();
+    int offset = slotOffset(slot);
+    int programLength = buffer.getInt(offset + PROGRAM_LENGTH);
+    int copied = 0;
+    if (emulator.programLength != programLength || dirtyPages(emulator.rom, rom[slot]) != 0){
+      emulator.load(Arrays.copyOf(rom[slot], programLength));
+      copied += (programLength + PAGE_WORDS - 1) / PAGE_WORDS;
+    }
+    for (long rest = dirtyPages(emulator.ram, ram[slot]); rest != 0; rest &= rest - 1){
+      int from = Long.numberOfTrailingZeros(rest) * PAGE_WORDS;
+      System.arraycopy(ram[slot], from, emulator.ram, from, PAGE_WORDS);
+      copied++;
+    }
+    emulator.a = buffer.getInt(offset + A);
+    emulator.d = buffer.getInt(offset + D);
+    emulator.pc = buffer.getInt(offset + PC);
+    emulator.halted = buffer.getInt(offset + HALTED) == 1;
+    emulator.cycles = buffer.getLong(offset + CYCLES);
+    return copied;
+  }
+
+  public long cycles(){
+    return buffer.getLong(slotOffset(current()) + CYCLES);
+  }
+
+  public long checkpoints(){
+    return buffer.getLong(GENERATION);
+  }
+
+  @Override
+  public void close() throws IOException{
+    buffer.force();
+    channel.close();
+  }
+
+  /*
+    java HackSnapshot <snapshot> [program] [cycles per checkpoint] [max cycles]
+    Runs the program from the start, or continues the run saved in the snapshot when no program is given, with a
+    checkpoint every given number of cycles. Prints the pages written per checkpoint and the time a rewind to the
+    last checkpoint takes.
+  */
+  public static void main(String[] args){
+    if (args.length == 0){
+      System.out.println("Usage: java HackSnapshot <snapshot> [program] [cycles per checkpoint] [max cycles]");
+      return;
+    }
+
+    HackEmulator emulator = new TieredEmulator();
+    long interval;
+    long maxCycles;
+    HackSnapshot snapshot;
+    try{
+      boolean resume = args.length == 1 || args[1].matches("\\d+");
+      int first = resume ? 1 : 2;
+      interval = args.length > first ? Long.parseLong(args[first]) : 10_000_000;
+      maxCycles = args.length > first + 1 ? Long.parseLong(args[first + 1]) : Long.MAX_VALUE;
+      if (resume){
+        snapshot = open(args[0]);
+        snapshot.restore(emulator);
+        System.out.println("Resuming after " + emulator.cycles() + " cycles at pc " + emulator.pc());
+      }
+      else{
+        emulator.load(HackEmulator.readProgram(args[1]));
+        snapshot = create(args[0]);
+      }
+    } catch (IOException e){
+      System.err.println("Error reading snapshot or program: " + e.getMessage());
+      return;
+    } catch (IllegalArgumentException e){
+      System.err.println("Invalid argument: " + e.getMessage());
+      return;
+    }
+
+    try (HackSnapshot checkpoints = snapshot){
+      long pages = 0;
+      long count = 0;
+      long checkpointNanos = 0;
+      while (!emulator.halted() && emulator.cycles() < maxCycles){
+        emulator.run(Math.min(interval, maxCycles - emulator.cycles()));
+        long start = System.nanoTime();
+        pages += checkpoints.checkpoint(emulator);
+        checkpointNanos += System.nanoTime() - start;
+        count++;
+      }
+
+      System.out.println((emulator.halted() ? "Halted" : "Stopped") + " after " + emulator.cycles() + " cycles at pc " + emulator.pc());
+      System.out.println(String.format("%d checkpoints, %.1f of %d ROM and RAM pages written each, %.1f us per checkpoint",
+          count, count == 0 ? 0.0 : (double) pages / count, 2 * HackEmulator.RAM_SIZE / PAGE_WORDS,
+          count == 0 ? 0.0 : checkpointNanos / 1e3 / count));
+
+      // Fork the last checkpoint into a new emulator, which has to copy everything.
+      HackEmulator fork = new MicroOpEmulator();
+      long start = System.nanoTime();
+      int copied = checkpoints.restore(fork);
+      System.out.println(String.format("Forking copied %d pages in %.1f us%s", copied, (System.nanoTime() - start) / 1e3,
+          HackEmulator.compare(emulator, fork) == null ? "" : ", but the fork differs: " + HackEmulator.compare(emulator, fork)));
+
+      // Run on for another interval and rewind, which only copies the pages written meanwhile.
+      if (!emulator.halted()){
+        emulator.run(interval);
+        start = System.nanoTime();
+        copied = checkpoints.restore(emulator);
+        System.out.println(String.format("Rewinding %d cycles copied %d pages in %.1f us", interval, copied,
+            (System.nanoTime() - start) / 1e3));
+      }
+    } catch (IOException e){
+      System.err.println("Error writing snapshot: " + e.getMessage());
+    }
+  }
+}
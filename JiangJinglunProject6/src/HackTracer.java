@@ -0,0 +1,340 @@
+import java.io.*;
+import java.util.*;
+
+/*
+  HackEmulator that records the RAM accesses of a program: every read of M and every write to M, with the cycle,
+  the pc of the instruction, the address and the value.
+
+  The records go into a preallocated ring buffer of longs, two per record, so recording is two array stores and
+  the buffer always holds the most recent accesses. Only addresses in the watch bitmap are recorded, one bit per
+  RAM word, e.g. SP to THAT and R13 to R15 when following the VM translator's calling convention. Nothing is
+  written anywhere until dump is called, on demand or after a trigger stopped the run: a write of a given value
+  (or any value) to an address, or reaching a pc.
+
+  The dump is binary:
+    bytes 0-3    magic "HTRC"
+    bytes 4-7    format version
+    bytes 8-15   number of accesses recorded in total, also those overwritten in the ring
+    bytes 16-19  number of records that follow, oldest first
+    16 bytes per record: the cycle (8 bytes), pc, address, value (2 bytes each), 1 for a write or 0 for a read,
+    and a reserved 0 byte
+*/
+public class HackTracer extends HackEmulator{
+
+  public static final int MAGIC = 0x48545243; // "HTRC"
+
+  public static final int VERSION = 1;
+
+  public static final int RECORD_SIZE = 16;
+
+  // Matches any value in a write trigger.
+  public static final int ANY_VALUE = Integer.MIN_VALUE;
+
+  // Two longs per record: the cycle, then pc << 48 | address << 32 | value << 16 | write.
+  private final long[] records;
+
+  private final int mask;
+
+  private final long[] watched = new long[RAM_SIZE / 64];
+
+  private long recorded = 0;
+
+  private int triggerAddress = -1;
+
+  private int triggerValue = ANY_VALUE;
+
+  private int triggerPc = -1;
+
+  private boolean triggered = false;
+
+  /*
+    Keeps the last capacity accesses, rounded up to a power of two.
+  */
+  public HackTracer(int capacity){
+    int size = Integer.highestOneBit(Math.max(capacity, 1) - 1) << 1;
+    records = new long[2 * Math.max(size, 1)];
+    mask = records.length - 1;
+  }
+
+  // Records the accesses of the addresses from to to, both included.
+  public void watch(int from, int to){
+    if (from < 0 || to >= RAM_SIZE || from > to){
+      throw new IllegalArgumentException("Invalid watch range " + from + "-" + to + ", addresses go from 0 to " + (RAM_SIZE - 1));
+    }
+    for (int address = from; address <= to; address++){
+      watched[address >>> 6] |= 1L << address;
+    }
+  }
+
+  // Stops the run after a write of value, or of any value with ANY_VALUE, to address.
+  public void triggerOnWrite(int address, int value){
+    triggerAddress = address;
+    triggerValue = value;
+  }
+
+  // Stops the run before the instruction at pc executes.
+  public void triggerOnPc(int pc){
+    triggerPc = pc;
+  }
+
+  public boolean triggered(){
+    return triggered;
+  }
+
+  // Accesses recorded since the program was loaded, including those no longer in the ring.
+  public long recorded(){
+    return recorded;
+  }
+
+  @Override
+  public void reset(){
+    super.reset();
+    recorded = 0;
+    triggered = false;
+  }
+
+  /*
+    Runs like HackEmulator.run, recording the watched accesses, until the machine halts, maxCycles more
+    instructions were executed, or a trigger fires.
+  */
+  @Override
+  public long run(long maxCycles){
+    final short[] rom = this.rom;
+    final short[] ram = this.ram;
+    final long[] records = this.records;
+    final long[] watched = this.watched;
+    final int mask = this.mask;
+    final int end = programLength;
+    final int triggerAddress = this.triggerAddress, triggerValue = this.triggerValue, triggerPc = this.triggerPc;
+    int a = this.a, d = this.d, pc = this.pc;
+    long executed = 0;
+    long cycle = cycles;
+    long recorded = this.recorded;
+    boolean halted = this.halted;
+    boolean triggered = this.triggered;
+
+    while (!halted && !triggered && executed < maxCycles){
+      if (pc == triggerPc){
+        triggered = true;
+        break;
+      }
+      int instruction = rom[pc];
+      executed++;
+
+      if (instruction >= 0){
+        a = instruction;
+        pc++;
+      }
+      else{
+        int address = a & 0x7FFF;
+        boolean watch = (watched[address >>> 6] & 1L << address) != 0;
+        int y = a;
+        if ((instruction & 0x1000) != 0){
+          y = ram[address];
+          if (watch){
+            int slot = (int) (recorded++ << 1) & mask;
+            records[slot] = cycle + executed - 1;
+            records[slot + 1] = (long) pc << 48 | (long) address << 32 | (y & 0xFFFFL) << 16;
+          }
+        }
+        int out = (short) compute((instruction >> 6) & 0x3F, d, y);
+
+        if ((instruction & 0x08) != 0){
+          ram[address] = (short) out;
+          if (watch){
+            int slot = (int) (recorded++ << 1) & mask;
+            records[slot] = cycle + executed - 1;
+            records[slot + 1] = (long) pc << 48 | (long) address << 32 | (out & 0xFFFFL) << 16 | 1;
+          }
+          triggered = address == triggerAddress && (triggerValue == ANY_VALUE || (short) triggerValue == out);
+        }
+        if ((instruction & 0x10) != 0){
+          d = out;
+        }
+        if ((instruction & 0x20) != 0){
+          a = out;
+        }
+
+        if (jumps(instruction, out)){
+          halted = address == pc - 1 && rom[address] == address && (instruction & 0x38) == 0;
+          pc = address;
+        }
+        else{
+          pc++;
+        }
+      }
+      halted |= pc >= end;
+    }
+
+    this.a = a;
+    this.d = d;
+    this.pc = pc;
+    this.halted = halted;
+    this.triggered = triggered;
+    this.recorded = recorded;
+    cycles += executed;
+    return executed;
+  }
+
+  /*
+    Writes the records in the ring, oldest first, to a binary trace file.
+  */
+  public void dump(String path) throws IOException{
+    int capacity = records.length / 2;
+    int count = (int) Math.min(recorded, capacity);
+    try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path), 1 << 16))){
+      output.writeInt(MAGIC);
+      output.writeInt(VERSION);
+      output.writeLong(recorded);
+      output.writeInt(count);
+      for (long record = recorded - count; record < recorded; record++){
+        int slot = (int) (record << 1) & mask;
+        long access = records[slot + 1];
+        output.writeLong(records[slot]);
+        output.writeShort((int) (access >>> 48));
+        output.writeShort((int) (access >>> 32));
+        output.writeShort((int) (access >>> 16));
+        output.writeByte((int) access & 1);
+        output.writeByte(0);
+      }
+    }
+  }
+
+  /*
+    Prints the records of a trace file as text, the RAM words below 16 by their predefined names.
+  */
+  public static void print(String path, PrintStream out) throws IOException{
+    String[] names = {"SP", "LCL", "ARG", "THIS", "THAT", "R5", "R6", "R7", "R8", "R9", "R10", "R11", "R12", "R13", "R14", "R15"};
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(path), 1 << 16))){
+      if (input.readInt() != MAGIC || input.readInt() != VERSION){
+        throw new IOException("Not a Hack trace: " + path);
+      }
+      long recorded = input.readLong();
+      int count = input.readInt();
+      out.println(count + " of " + recorded + " accesses");
+      for (int i = 0; i < count; i++){
+        long cycle = input.readLong();
+        int pc = input.readShort() & 0xFFFF;
+        int address = input.readShort() & 0xFFFF;
+        short value = input.readShort();
+        boolean write = input.readByte() == 1;
+        input.readByte();
+        out.println(String.format("%12d %6d %s %-6s %d", cycle, pc, write ? "W" : "R",
+            address < names.length ? names[address] : String.valueOf(address), value));
+      }
+    }
+  }
+
+  // A RAM address given as a number or as a predefined symbol such as SP, ARG or R13.
+  private static int address(String text){
+    if (!text.isEmpty() && Character.isDigit(text.charAt(0))){
+      return Integer.parseInt(text);
+    }
+    int address = Assembler.predefinedAddress(text);
+    if (address == -1){
+      throw new IllegalArgumentException("Unknown address " + text);
+    }
+    return address;
+  }
+
+  /*
+    java HackTracer <program> [max cycles] [address=value ...] [--watch from[-to] ...] [--trigger-write address[=value]]
+                    [--trigger-pc address] [--capacity records] [--out trace.bin]
+    java HackTracer --print trace.bin
+    Runs the program recording the accesses of the watched addresses, all of RAM when none are given, and dumps
+    the last records when a trigger fires or the run ends. Addresses can also be predefined symbols like ARG.
+  */
+  public static void main(String[] args){
+    if (args.length == 2 && args[0].equals("--print")){
+      try{
+        print(args[1], System.out);
+      } catch (IOException e){
+        System.err.println("Error reading trace: " + e.getMessage());
+      }
+      return;
+    }
+    if (args.length == 0 || args[0].startsWith("--")){
+      System.out.println("Usage: java HackTracer <program> [max cycles] [address=value ...] [--watch from[-to] ...]"
+          + " [--trigger-write address[=value]] [--trigger-pc address] [--capacity records] [--out trace.bin]");
+      System.out.println("       java HackTracer --print trace.bin");
+      return;
+    }
+
+    HackTracer tracer;
+    long maxCycles = Long.MAX_VALUE;
+    String out = "trace.bin";
+    try{
+      short[] program = readProgram(args[0]);
+      int capacity = 1 << 20;
+      List<String> watches = new ArrayList<>();
+      List<String> pokes = new ArrayList<>();
+      String triggerWrite = null, triggerPc = null;
+      for (int i = 1; i < args.length; i++){
+        String arg = args[i];
+        boolean option = arg.startsWith("--");
+        if (option && i + 1 == args.length){
+          throw new IllegalArgumentException("Missing value for " + arg);
+        }
+        switch (arg){
+          case "--watch": watches.add(args[++i]); break;
+          case "--trigger-write": triggerWrite = args[++i]; break;
+          case "--trigger-pc": triggerPc = args[++i]; break;
+          case "--capacity": capacity = Integer.parseInt(args[++i]); break;
+          case "--out": out = args[++i]; break;
+          default:
+            if (option){
+              throw new IllegalArgumentException("Unknown option " + arg);
+            }
+            if (arg.indexOf('=') == -1){
+              maxCycles = Long.parseLong(arg);
+            }
+            else{
+              pokes.add(arg);
+            }
+        }
+      }
+
+      tracer = new HackTracer(capacity);
+      tracer.load(program);
+      for (String poke : pokes){
+        int equalIndex = poke.indexOf('=');
+        tracer.poke(address(poke.substring(0, equalIndex)), Integer.parseInt(poke.substring(equalIndex + 1)));
+      }
+      if (watches.isEmpty()){
+        watches.add("0-" + (RAM_SIZE - 1));
+      }
+      for (String watch : watches){
+        int dash = watch.indexOf('-');
+        int from = address(dash == -1 ? watch : watch.substring(0, dash));
+        tracer.watch(from, dash == -1 ? from : address(watch.substring(dash + 1)));
+      }
+      if (triggerWrite != null){
+        int equalIndex = triggerWrite.indexOf('=');
+        tracer.triggerOnWrite(address(equalIndex == -1 ? triggerWrite : triggerWrite.substring(0, equalIndex)),
+            equalIndex == -1 ? ANY_VALUE : Integer.parseInt(triggerWrite.substring(equalIndex + 1)));
+      }
+      if (triggerPc != null){
+        tracer.triggerOnPc(Integer.parseInt(triggerPc));
+      }
+    } catch (IOException e){
+      System.err.println("Error reading program: " + e.getMessage());
+      return;
+    } catch (IllegalArgumentException e){
+      System.err.println("Invalid argument: " + e.getMessage());
+      return;
+    }
+
+    long start = System.nanoTime();
+    tracer.run(maxCycles);
+    long elapsed = System.nanoTime() - start;
+    System.out.println((tracer.triggered() ? "Triggered" : tracer.halted() ? "Halted" : "Stopped") + " after "
+        + tracer.cycles() + " cycles at pc " + tracer.pc() + String.format(" (%.1f ms, %.1f million instructions per second)",
+        elapsed / 1e6, tracer.cycles() * 1e3 / Math.max(elapsed, 1)) + ", " + tracer.recorded() + " accesses recorded");
+    try{
+      tracer.dump(out);
+      System.out.println("Wrote the last " + Math.min(tracer.recorded(), tracer.records.length / 2) + " accesses to " + out);
+    } catch (IOException e){
+      System.err.println("Error writing trace: " + e.getMessage());
+    }
+  }
+}
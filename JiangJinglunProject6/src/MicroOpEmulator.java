@@ -0,0 +1,180 @@
+import java.util.*;
+
+/*
+  HackEmulator that decodes the ROM once when the program is loaded, instead of decoding every instruction on
+  every cycle.
+
+  Each ROM address gets a micro-op: an opcode for the dense dispatch switch of run, and an operand. A-instructions
+  become LOAD_A with the constant as the operand. C-instructions get one opcode per comp mnemonic of the
+  Assembler, with the destination bits and the jump condition kept in a separate flags byte. Control bits no
+  mnemonic uses fall back to the gate logic of HackEmulator.alu. Every address past the end of the program
+  decodes to HALT, so the loop never has to compare pc with the program length.
+
+  The opcodes are derived from the Assembler itself, by encoding every comp, dest and jump mnemonic, so the
+  engine can never disagree with the compTable, destTable and jumpTable it assembles with.
+*/
+public class MicroOpEmulator extends HackEmulator{
+
+  static final int HALT = 0;
+  static final int LOAD_A = 1;
+  static final int ALU_A = 2;  // Control bits without a mnemonic, y is A.
+  static final int ALU_M = 3;  // Control bits without a mnemonic, y is M.
+  static final int FIRST_COMP = 4;
+
+  // The comp mnemonics in opcode order, starting at FIRST_COMP. The cases of run follow the same order.
+  static final String[] COMP_MNEMONICS = {
+      "0", "1", "-1", "D", "A", "!D", "!A", "-D", "-A", "D+1", "A+1", "D-1", "A-1", "D+A", "D-A", "A-D", "D&A", "D|A",
+      "M", "!M", "-M", "M+1", "M-1", "D+M", "D-M", "M-D", "D&M", "D|M"
+  };
+
+  // Opcode of each 7-bit comp field, the a bit followed by zx nx zy ny f no.
+  private static final byte[] compOps = new byte[128];
+
+  // Layout of the flags byte.
+  static final int DEST_M = 0x01, DEST_D = 0x02, DEST_A = 0x04;
+  static final int JUMP_SHIFT = 3;
+  static final int SELF_LOOP = 0x40; // A jump without destination right after "@address of that load".
+
+  static{
+    Assembler assembler = new Assembler();
+    for (int control = 0; control < 128; control++){
+      compOps[control] = (byte) ((control & 0x40) != 0 ? ALU_M : ALU_A);
+    }
+    for (int i = 0; i < COMP_MNEMONICS.length; i++){
+      int control = (assembler.encode(COMP_MNEMONICS[i]) >> 6) & 0x7F;
+      if (compOps[control] >= FIRST_COMP){
+        throw new IllegalStateException("Comp mnemonics " + COMP_MNEMONICS[compOps[control] - FIRST_COMP]
+            + " and " + COMP_MNEMONICS[i] + " have the same encoding");
+      }
+      compOps[control] = (byte) (FIRST_COMP + i);
+    }
+
+    // run reads the dest and jump fields straight from the flags, so they must be laid out like the Assembler's.
+    String[] dests = {"M", "D", "MD", "A", "AM", "AD", "AMD"};
+    String[] jumps = {"JGT", "JEQ", "JGE", "JLT", "JNE", "JLE", "JMP"};
+    for (int i = 0; i < 7; i++){
+      if (((assembler.encode(dests[i] + "=0") >> 3) & 0x07) != i + 1){
+        throw new IllegalStateException("Unexpected encoding of dest " + dests[i]);
+      }
+      if ((assembler.encode("0;" + jumps[i]) & 0x07) != i + 1){
+        throw new IllegalStateException("Unexpected encoding of jump " + jumps[i]);
+      }
+    }
+  }
+
+  // Micro-ops by ROM address, one more than the ROM so running off its end also halts.
+  final byte[] ops = new byte[ROM_SIZE + 1];
+  final byte[] flags = new byte[ROM_SIZE + 1];
+  final short[] operands = new short[ROM_SIZE + 1];
+
+  @Override
+  public void load(short[] program){
+    super.load(program);
+    decode();
+  }
+
+  /*
+    Decodes the loaded program into the micro-op arrays.
+  */
+  void decode(){
+    Arrays.fill(ops, (byte) HALT);
+    Arrays.fill(flags, (byte) 0);
+    Arrays.fill(operands, (short) 0);
+    for (int address = 0; address < programLength; address++){
+      int instruction = rom[address];
+      if (instruction >= 0){
+        ops[address] = LOAD_A;
+        operands[address] = (short) instruction;
+        continue;
+      }
+      int control = (instruction >> 6) & 0x7F;
+      int dest = (instruction >> 3) & 0x07;
+      int jump = instruction & 0x07;
+      ops[address] = compOps[control];
+      operands[address] = (short) (control & 0x3F);
+      int flag = dest | jump << JUMP_SHIFT;
+      if (dest == 0 && jump != 0 && address > 0 && rom[address - 1] == address - 1){
+        flag |= SELF_LOOP;
+      }
+      flags[address] = (byte) flag;
+    }
+  }
+
+  @Override
+  public long run(long maxCycles){
+    final byte[] ops = this.ops;
+    final byte[] flags = this.flags;
+    final short[] operands = this.operands;
+    final short[] ram = this.ram;
+    int a = this.a, d = this.d, pc = this.pc;
+    long executed = 0;
+    boolean halted = this.halted;
+
+    while (!halted && executed < maxCycles){
+      int out;
+      switch (ops[pc]){
+        case HALT: halted = true; continue;
+        case LOAD_A: a = operands[pc]; pc++; executed++; continue;
+        case ALU_A: out = alu(operands[pc], d, a); break;
+        case ALU_M: out = alu(operands[pc], d, ram[a & 0x7FFF]); break;
+        case FIRST_COMP: out = 0; break;
+        case FIRST_COMP + 1: out = 1; break;
+        case FIRST_COMP + 2: out = -1; break;
+        case FIRST_COMP + 3: out = d; break;
+        case FIRST_COMP + 4: out = a; break;
+        case FIRST_COMP + 5: out = ~d; break;
+        case FIRST_COMP + 6: out = ~a; break;
+        case FIRST_COMP + 7: out = -d; break;
+        case FIRST_COMP + 8: out = -a; break;
+        case FIRST_COMP + 9: out = d + 1; break;
+        case FIRST_COMP + 10: out = a + 1; break;
+        case FIRST_COMP + 11: out = d - 1; break;
+        case FIRST_COMP + 12: out = a - 1; break;
+        case FIRST_COMP + 13: out = d + a; break;
+        case FIRST_COMP + 14: out = d - a; break;
+        case FIRST_COMP + 15: out = a - d; break;
+        case FIRST_COMP + 16: out = d & a; break;
+        case FIRST_COMP + 17: out = d | a; break;
+        case FIRST_COMP + 18: out = ram[a & 0x7FFF]; break;
+        case FIRST_COMP + 19: out = ~ram[a & 0x7FFF]; break;
+        case FIRST_COMP + 20: out = -ram[a & 0x7FFF]; break;
+        case FIRST_COMP + 21: out = ram[a & 0x7FFF] + 1; break;
+        case FIRST_COMP + 22: out = ram[a & 0x7FFF] - 1; break;
+        case FIRST_COMP + 23: out = d + ram[a & 0x7FFF]; break;
+        case FIRST_COMP + 24: out = d - ram[a & 0x7FFF]; break;
+        case FIRST_COMP + 25: out = ram[a & 0x7FFF] - d; break;
+        case FIRST_COMP + 26: out = d & ram[a & 0x7FFF]; break;
+        default: out = d | ram[a & 0x7FFF]; break;
+      }
+      executed++;
+      out = (short) out;
+
+      int flag = flags[pc];
+      if ((flag & DEST_M) != 0){
+        ram[a & 0x7FFF] = (short) out;
+      }
+      if ((flag & DEST_D) != 0){
+        d = out;
+      }
+      int target = a & 0x7FFF;
+      if ((flag & DEST_A) != 0){
+        a = out;
+      }
+
+      if (jumps(flag >> JUMP_SHIFT, out)){
+        halted = (flag & SELF_LOOP) != 0 && target == pc - 1;
+        pc = target;
+      }
+      else{
+        pc++;
+      }
+    }
+
+    this.a = a;
+    this.d = d;
+    this.pc = pc;
+    this.halted = halted || ops[pc] == HALT; // Like HackEmulator, which halts as soon as pc leaves the program.
+    cycles += executed;
+    return executed;
+  }
+}
@@ -0,0 +1,162 @@
+import java.util.*;
+
+/*
+  Removes redundant instructions from cleaned Hack assembly, mostly the patterns a code generator leaves behind.
+
+  The optimizer works on the lines before findLabels, with the "(LABEL)" lines still in place, so every label
+  simply moves with the instruction that follows it. The patterns are:
+    - an A-instruction followed by another A-instruction, the first load is overwritten before it is used
+    - "@X" when A already holds X, because the instructions since the last "@X" did not write A
+    - unreachable instructions after an unconditional jump, up to the next label
+    - "@L" and a jump without a destination when (L) is the next label and is followed by an A-instruction
+
+  Control is assumed to enter code only through labels, as in everything the VM translator generates.
+  A jump to a numeric address is not adjusted when instructions before it are removed, so programs that jump to
+  fixed addresses should not be optimized.
+*/
+public class PeepholeOptimizer{
+
+  /*
+    Optimizes the lines in place and returns the number of instructions removed.
+  */
+  public static int optimize(List<String> lines){
+    int before = countInstructions(lines);
+    boolean changed = true;
+    while (changed){
+      changed = removeOverwrittenLoads(lines);
+      changed |= removeRepeatedLoads(lines);
+      changed |= removeUnreachable(lines);
+      changed |= removeJumpsToNext(lines);
+    }
+    return before - countInstructions(lines);
+  }
+
+  private static int countInstructions(List<String> lines){
+    int count = 0;
+    for (String line : lines){
+      if (!isLabel(line)){
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static boolean isLabel(String line){
+    return line.charAt(0) == '(';
+  }
+
+  private static boolean isAInstruction(String line){
+    return line.charAt(0) == '@';
+  }
+
+  private static boolean writesA(String line){
+    int equalIndex = line.indexOf('=');
+    return equalIndex != -1 && line.lastIndexOf('A', equalIndex) != -1;
+  }
+
+  private static boolean isUnconditionalJump(String line){
+    return line.endsWith(";JMP");
+  }
+
+  // Index of the next instruction after index, skipping labels, or lines.size() at the end.
+  private static int nextInstruction(List<String> lines, int index){
+    int next = index + 1;
+    while (next < lines.size() && isLabel(lines.get(next))){
+      next++;
+    }
+    return next;
+  }
+
+  /*
+    Drops the lines marked in remove, keeping the order of the others.
+  */
+  private static boolean compact(List<String> lines, boolean[] remove){
+    int count = 0;
+    for (int i = 0; i < lines.size(); i++){
+      if (!remove[i]){
+        lines.set(count, lines.get(i));
+        count++;
+      }
+    }
+    boolean changed = count < lines.size();
+    lines.subList(count, lines.size()).clear();
+    return changed;
+  }
+
+  private static boolean removeOverwrittenLoads(List<String> lines){
+    boolean[] remove = new boolean[lines.size()];
+    for (int i = 0; i < lines.size(); i++){
+      int next = nextInstruction(lines, i);
+      if (isAInstruction(lines.get(i)) && next < lines.size() && isAInstruction(lines.get(next))){
+        remove[i] = true;
+      }
+    }
+    return compact(lines, remove);
+  }
+
+  private static boolean removeRepeatedLoads(List<String> lines){
+    boolean[] remove = new boolean[lines.size()];
+    String loaded = null; // The A-instruction whose value A still holds, null when unknown.
+    for (int i = 0; i < lines.size(); i++){
+      String line = lines.get(i);
+      if (isLabel(line)){
+        loaded = null; // A jump may arrive here with any value in A.
+      }
+      else if (isAInstruction(line)){
+        if (line.equals(loaded)){
+          remove[i] = true;
+        }
+        loaded = line;
+      }
+      else if (writesA(line)){
+        loaded = null;
+      }
+    }
+    return compact(lines, remove);
+  }
+
+  private static boolean removeUnreachable(List<String> lines){
+    boolean[] remove = new boolean[lines.size()];
+    boolean reachable = true;
+    for (int i = 0; i < lines.size(); i++){
+      String line = lines.get(i);
+      if (isLabel(line)){
+        reachable = true;
+      }
+      else if (!reachable){
+        remove[i] = true;
+      }
+      else if (isUnconditionalJump(line)){
+        reachable = false;
+      }
+    }
+    return compact(lines, remove);
+  }
+
+  private static boolean removeJumpsToNext(List<String> lines){
+    boolean[] remove = new boolean[lines.size()];
+    for (int i = 0; i + 1 < lines.size(); i++){
+      String load = lines.get(i);
+      String jump = lines.get(i + 1);
+      if (!isAInstruction(load) || jump.indexOf(';') == -1 || jump.indexOf('=') != -1){
+        continue;
+      }
+
+      // The jump goes to the next instruction if its label is one of the labels right after it.
+      String target = "(" + load.substring(1) + ")";
+      int next = i + 2;
+      boolean toNext = false;
+      while (next < lines.size() && isLabel(lines.get(next))){
+        toNext |= lines.get(next).equals(target);
+        next++;
+      }
+      // A must be reloaded there, since removing the load changes the value A has at that point.
+      if (toNext && next < lines.size() && isAInstruction(lines.get(next))){
+        remove[i] = true;
+        remove[i + 1] = true;
+        i++;
+      }
+    }
+    return compact(lines, remove);
+  }
+}
@@ -0,0 +1,122 @@
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/*
+  Packed binary ROM image, two bytes per instruction instead of a 17 byte text line.
+
+  Layout:
+    bytes 0-3   magic "HROM"
+    byte  4     format version
+    byte  5     byte order of the words, 0 for big-endian and 1 for little-endian
+    bytes 6-7   reserved, always 0
+    bytes 8-11  number of words, big-endian
+    bytes 12-   the 16-bit words in ROM order
+*/
+public class RomImage{
+
+  public static final int MAGIC = 0x48524F4D; // "HROM"
+
+  public static final byte VERSION = 1;
+
+  public static final int HEADER_SIZE = 12;
+
+  public static final int MAX_WORDS = 32768;
+
+  /*
+    Writes the words of an image through a FileChannel.
+    The word count is only known at the end, so the header is written when the image is closed.
+  */
+  public static class RomWriter implements Assembler.WordOutput{
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16);
+    private final ByteOrder byteOrder;
+    private int count = 0;
+
+    public RomWriter(String path, ByteOrder byteOrder) throws IOException{
+      this.channel = FileChannel.open(Paths.get(path),
+          StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+      this.byteOrder = byteOrder;
+      buffer.order(byteOrder);
+      buffer.position(HEADER_SIZE); // The header is filled in by close.
+    }
+
+    @Override
+    public void write(short word) throws IOException{
+      if (count == MAX_WORDS){
+        throw new IllegalArgumentException("Program does not fit in the " + MAX_WORDS + " word ROM");
+      }
+      if (!buffer.hasRemaining()){
+        flush();
+      }
+      buffer.putShort(word);
+      count++;
+    }
+
+    private void flush() throws IOException{
+      buffer.flip();
+      while (buffer.hasRemaining()){
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException{
+      try{
+        flush();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC);
+        header.put(VERSION);
+        header.put((byte) (byteOrder == ByteOrder.LITTLE_ENDIAN ? 1 : 0));
+        header.putShort((short) 0);
+        header.putInt(count);
+        header.flip();
+        while (header.hasRemaining()){
+          channel.write(header, header.position());
+        }
+      } finally{
+        channel.close();
+      }
+    }
+  }
+
+  /*
+    Maps an image into memory and returns its words without copying them.
+    The mapping stays valid after the file channel is closed.
+  */
+  public static ShortBuffer map(String path) throws IOException{
+    try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)){
+      if (channel.size() < HEADER_SIZE){
+        throw new IOException("Not a ROM image: " + path);
+      }
+      MappedByteBuffer image = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (image.getInt(0) != MAGIC){
+        throw new IOException("Not a ROM image: " + path);
+      }
+      if (image.get(4) != VERSION){
+        throw new IOException("Unsupported ROM image version " + image.get(4) + ": " + path);
+      }
+      int count = image.getInt(8);
+      if (count < 0 || count > MAX_WORDS || HEADER_SIZE + 2L * count > channel.size()){
+        throw new IOException("Truncated ROM image: " + path);
+      }
+
+      ByteOrder byteOrder = image.get(5) == 1 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN;
+      image.position(HEADER_SIZE);
+      image.limit(HEADER_SIZE + 2 * count);
+      return image.slice().order(byteOrder).asShortBuffer();
+    }
+  }
+
+  /*
+    Loads the words of an image into an array.
+  */
+  public static short[] load(String path) throws IOException{
+    ShortBuffer words = map(path);
+    short[] rom = new short[words.remaining()];
+    words.get(rom);
+    return rom;
+  }
+}
@@ -0,0 +1,169 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/*
+  Maps the ROM addresses of an assembled program back to its .asm source: the source line of every instruction
+  and the address of every label, as the Assembler's label pass records them.
+
+  The Assembler writes it next to the .hack file with --source-map, as text:
+    # source Mult.asm
+    (LOOP) 10
+    0 7
+    1 8
+  A "(label) address" line for every label and an "address line" line for every instruction, in ROM order.
+*/
+public class SourceMap{
+
+  private final String source;
+
+  private int[] lines = new int[1024];
+
+  private int length = 0;
+
+  // Labels in source order, which is also address order.
+  private final List<String> labelNames = new ArrayList<>();
+
+  private int[] labelAddresses = new int[64];
+
+  public SourceMap(String source){
+    this.source = source;
+  }
+
+  void label(String name, int address){
+    if (labelNames.size() == labelAddresses.length){
+      labelAddresses = Arrays.copyOf(labelAddresses, labelAddresses.length * 2);
+    }
+    labelAddresses[labelNames.size()] = address;
+    labelNames.add(name);
+  }
+
+  void instruction(int address, int line){
+    if (address >= lines.length){
+      lines = Arrays.copyOf(lines, Math.max(lines.length * 2, address + 1));
+    }
+    lines[address] = line;
+    length = Math.max(length, address + 1);
+  }
+
+  public String source(){
+    return source;
+  }
+
+  // Number of instructions.
+  public int length(){
+    return length;
+  }
+
+  // Source line of the instruction at an address, 0 when unknown.
+  public int line(int address){
+    return address < length ? lines[address] : 0;
+  }
+
+  public int labelCount(){
+    return labelNames.size();
+  }
+
+  public String labelName(int index){
+    return labelNames.get(index);
+  }
+
+  public int labelAddress(int index){
+    return labelAddresses[index];
+  }
+
+  /*
+    Index of the label an address belongs to, the last one at or before it, or -1 before the first label.
+    Of several labels on the same address the last one is taken.
+  */
+  public int labelIndexAt(int address){
+    int low = 0, high = labelNames.size() - 1, found = -1;
+    while (low <= high){
+      int middle = (low + high) >>> 1;
+      if (labelAddresses[middle] <= address){
+        found = middle;
+        low = middle + 1;
+      }
+      else{
+        high = middle - 1;
+      }
+    }
+    return found;
+  }
+
+  // Name of the label an address belongs to, or "<start>" before the first label.
+  public String labelAt(int address){
+    int index = labelIndexAt(address);
+    return index == -1 ? "<start>" : labelNames.get(index);
+  }
+
+  public void write(Writer output) throws IOException{
+    output.write("# source " + source + "\n");
+    int label = 0;
+    for (int address = 0; address <= length; address++){
+      while (label < labelNames.size() && labelAddresses[label] == address){
+        output.write("(" + labelNames.get(label) + ") " + address + "\n");
+        label++;
+      }
+      if (address < length){
+        output.write(address + " " + lines[address] + "\n");
+      }
+    }
+  }
+
+  public void writeFile(String path) throws IOException{
+    try (Writer output = new BufferedWriter(new FileWriter(path), 1 << 16)){
+      write(output);
+    }
+  }
+
+  /*
+    Copies a source map file, naming source as the file it maps instead of the one in the copied file.
+    The lines are copied unparsed.
+  */
+  static void copy(Path from, String to, String source) throws IOException{
+    try (BufferedReader input = Files.newBufferedReader(from);
+        Writer output = new BufferedWriter(new FileWriter(to), 1 << 16)){
+      output.write("# source " + source + "\n");
+      String line;
+      while ((line = input.readLine()) != null){
+        if (!line.startsWith("# source ")){
+          output.write(line);
+          output.write('\n');
+        }
+      }
+    }
+  }
+
+  public static SourceMap read(String path) throws IOException{
+    SourceMap map = null;
+    for (String line : Files.readAllLines(Paths.get(path))){
+      if (line.startsWith("# source ")){
+        map = new SourceMap(line.substring("# source ".length()));
+        continue;
+      }
+      if (line.isEmpty() || line.startsWith("#")){
+        continue;
+      }
+      if (map == null){
+        map = new SourceMap(path);
+      }
+      int space = line.lastIndexOf(' ');
+      if (space == -1){
+        throw new IOException("Invalid source map line: " + line);
+      }
+      try{
+        int value = Integer.parseInt(line.substring(space + 1));
+        if (line.charAt(0) == '('){
+          map.label(line.substring(1, space - 1), value);
+        }
+        else{
+          map.instruction(Integer.parseInt(line.substring(0, space)), value);
+        }
+      } catch (NumberFormatException | StringIndexOutOfBoundsException e){
+        throw new IOException("Invalid source map line: " + line);
+      }
+    }
+    return map == null ? new SourceMap(path) : map;
+  }
+}
@@ -0,0 +1,148 @@
+import java.util.*;
+
+/*
+  Symbol table of the Assembler, mapping label and variable names to addresses.
+
+  Names are looked up directly by a character range of the line being assembled, so resolving "@LABEL" does not
+  create a String. The table uses open addressing with linear probing. Every slot keeps the hash of its name,
+  and the characters of all names are stored one after another in a single char array.
+*/
+public class SymbolTable{
+
+  // Slot arrays, a slot is free while its length is 0.
+  private int[] hashes;
+  private int[] offsets;
+  private int[] lengths;
+  private int[] values;
+
+  private char[] names = new char[1024];
+
+  private int namesLength = 0;
+
+  private int size = 0;
+
+  public SymbolTable(){
+    allocate(64);
+  }
+
+  private void allocate(int capacity){
+    hashes = new int[capacity];
+    offsets = new int[capacity];
+    lengths = new int[capacity];
+    values = new int[capacity];
+  }
+
+  private static int hash(CharSequence text, int start, int end){
+    int hash = 0;
+    for (int i = start; i < end; i++){
+      hash = 31 * hash + text.charAt(i);
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  /*
+    Returns the slot holding the name, or the free slot where it would be added.
+  */
+  private int find(CharSequence text, int start, int end, int hash){
+    int mask = hashes.length - 1;
+    int length = end - start;
+    for (int slot = hash & mask; ; slot = (slot + 1) & mask){
+      if (lengths[slot] == 0){
+        return slot;
+      }
+      if (hashes[slot] == hash && lengths[slot] == length && matches(slot, text, start)){
+        return slot;
+      }
+    }
+  }
+
+  private boolean matches(int slot, CharSequence text, int start){
+    int offset = offsets[slot];
+    for (int i = 0; i < lengths[slot]; i++){
+      if (names[offset + i] != text.charAt(start + i)){
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /*
+    Returns the address of the name text[start, end), or -1 if it is not in the table.
+  */
+  public int get(CharSequence text, int start, int end){
+    int slot = find(text, start, end, hash(text, start, end));
+    return lengths[slot] == 0 ? -1 : values[slot];
+  }
+
+  public int get(String name){
+    return get(name, 0, name.length());
+  }
+
+  public boolean contains(String name){
+    return get(name) >= 0;
+  }
+
+  /*
+    Sets the address of the name text[start, end), adding the name if it is new.
+  */
+  public void put(CharSequence text, int start, int end, int value){
+    if (start == end){
+      throw new IllegalArgumentException("Empty symbol");
+    }
+    int hash = hash(text, start, end);
+    int slot = find(text, start, end, hash);
+    if (lengths[slot] == 0){
+      if (namesLength + end - start > names.length){
+        names = Arrays.copyOf(names, Math.max(names.length * 2, namesLength + end - start));
+      }
+      for (int i = start; i < end; i++){
+        names[namesLength++] = text.charAt(i);
+      }
+      hashes[slot] = hash;
+      offsets[slot] = namesLength - (end - start);
+      lengths[slot] = end - start;
+      size++;
+    }
+    values[slot] = value;
+
+    if (size * 2 > hashes.length){
+      grow();
+    }
+  }
+
+  public void put(String name, int value){
+    put(name, 0, name.length(), value);
+  }
+
+  // Doubles the slot arrays, the stored hashes mean no name has to be hashed again.
+  private void grow(){
+    int[] oldHashes = hashes, oldOffsets = offsets, oldLengths = lengths, oldValues = values;
+    allocate(oldHashes.length * 2);
+    int mask = hashes.length - 1;
+    for (int i = 0; i < oldHashes.length; i++){
+      if (oldLengths[i] != 0){
+        int slot = oldHashes[i] & mask;
+        while (lengths[slot] != 0){
+          slot = (slot + 1) & mask;
+        }
+        hashes[slot] = oldHashes[i];
+        offsets[slot] = oldOffsets[i];
+        lengths[slot] = oldLengths[i];
+        values[slot] = oldValues[i];
+      }
+    }
+  }
+
+  /*
+    Removes every name but keeps the allocated arrays for the next run.
+  */
+  public void clear(){
+    Arrays.fill(lengths, 0);
+    namesLength = 0;
+    size = 0;
+  }
+
+  public int size(){
+    return size;
+  }
+}
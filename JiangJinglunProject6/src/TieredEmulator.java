@@ -0,0 +1,164 @@
+import java.util.*;
+
+/*
+  Two-tier Hack emulator. Tier 0 is the MicroOpEmulator. Blocks that run often are translated to JVM bytecode by
+  the BlockCompiler and defined as a hidden class, so HotSpot compiles them to native code like any other method.
+  That is tier 1.
+
+  A block starts wherever execution arrives after a jump. That includes the labels the Assembler resolved for
+  "@LABEL" jumps and also the addresses reached by computed jumps. A block runs up to and including the next
+  jump instruction, and it never has a branch inside it. A block either always executes all of its instructions
+  or none of them, so the cycle counts are the same as in the interpreter.
+
+  Compiled code leaves a block with the address of the next block. When the A value of a jump is known from an
+  "@constant" in the same block, that address is a constant in the generated code. A computed jump, like
+  "A=M 0;JMP" in the VM translator's return sequence, returns whatever address is in A. If no compiled block
+  starts there, the interpreter continues. Blocks ending in the final "@END 0;JMP" loop are never compiled, so
+  halting is always detected by the interpreter.
+
+  Every compilation contains all hot blocks and replaces the previous class, which HotSpot then has to compile
+  again, so blocks that become hot later are collected for a while before the next compilation.
+*/
+public class TieredEmulator extends MicroOpEmulator{
+
+  // A block is compiled once it has been entered this many times.
+  static final int HOT_THRESHOLD = 1000;
+
+  // A block longer than this is compiled in parts, so no generated method grows too large for HotSpot.
+  static final int MAX_BLOCK = 256;
+
+  // At most this many blocks go into one class, keeping its run method under the size HotSpot compiles.
+  static final int MAX_COMPILED_BLOCKS = 256;
+
+  // Blocks that become hot later are compiled together, at most once per this many cycles.
+  static final long RECOMPILE_CYCLES = 10_000_000;
+
+  /*
+    Implemented by the generated classes. Runs compiled blocks starting at registers[2], the pc, until it reaches
+    an address without a compiled block or less than MAX_BLOCK cycles of the budget are left. Returns the number
+    of instructions executed. registers holds A, D and the pc, and is updated.
+  */
+  public interface CompiledCode{
+    int run(short[] ram, int[] registers, int budget);
+  }
+
+  // Compiled code with the block entry addresses it covers, replaced as a whole.
+  private static final class Tier{
+    final CompiledCode code;
+    final boolean[] entries;
+
+    Tier(CompiledCode code, boolean[] entries){
+      this.code = code;
+      this.entries = entries;
+    }
+  }
+
+  // Length of the block starting at each address.
+  private final int[] blockLength = new int[ROM_SIZE + 1];
+
+  private final int[] entryCounts = new int[ROM_SIZE + 1];
+
+  // Hot blocks in the order they became hot.
+  private final List<Integer> hotBlocks = new ArrayList<>();
+
+  private final int[] registers = new int[3];
+
+  private Tier tier = null;
+
+  private int compiledBlocks = 0;
+
+  private long lastCompilationCycle = 0;
+
+  private long compiledCycles = 0;
+
+  private String compileError = null;
+
+  @Override
+  void decode(){
+    super.decode();
+    Arrays.fill(entryCounts, 0);
+    hotBlocks.clear();
+    tier = null;
+    compiledBlocks = 0;
+    lastCompilationCycle = 0;
+    compiledCycles = 0;
+
+    // From the end of the program backwards, a block runs to the next jump or to the end.
+    blockLength[programLength] = 0;
+    for (int address = programLength - 1; address >= 0; address--){
+      boolean jump = rom[address] < 0 && (rom[address] & 0x07) != 0;
+      blockLength[address] = jump ? 1 : blockLength[address + 1] + 1;
+    }
+    for (int address = 0; address < programLength; address++){
+      blockLength[address] = Math.min(blockLength[address], MAX_BLOCK);
+    }
+  }
+
+  @Override
+  public long run(long maxCycles){
+    long executed = 0;
+    while (!halted && executed < maxCycles){
+      Tier tier = this.tier;
+      if (tier != null && tier.entries[pc]){
+        registers[0] = a;
+        registers[1] = d;
+        registers[2] = pc;
+        int count = tier.code.run(ram, registers, (int) Math.min(maxCycles - executed, Integer.MAX_VALUE));
+        a = registers[0];
+        d = registers[1];
+        pc = registers[2];
+        cycles += count;
+        compiledCycles += count;
+        executed += count;
+        halted = ops[pc] == HALT;
+        if (count > 0){
+          continue;
+        }
+      }
+
+      int entry = pc;
+      if (entryCounts[entry] < HOT_THRESHOLD && ++entryCounts[entry] == HOT_THRESHOLD && compilable(entry)){
+        hotBlocks.add(entry);
+      }
+      executed += super.run(Math.min(blockLength[entry], maxCycles - executed));
+
+      if (hotBlocks.size() > compiledBlocks && compileError == null
+          && (compiledBlocks == 0 || cycles - lastCompilationCycle >= RECOMPILE_CYCLES)){
+        compileHotBlocks();
+      }
+    }
+    return executed;
+  }
+
+  private boolean compilable(int entry){
+    int last = entry + blockLength[entry] - 1;
+    return hotBlocks.size() < MAX_COMPILED_BLOCKS && (flags[last] & SELF_LOOP) == 0;
+  }
+
+  private void compileHotBlocks(){
+    List<Integer> blocks = new ArrayList<>(hotBlocks);
+    compiledBlocks = blocks.size();
+    lastCompilationCycle = cycles;
+    try{
+      boolean[] entries = new boolean[ROM_SIZE + 1];
+      for (int entry : blocks){
+        entries[entry] = true;
+      }
+      tier = new Tier(new BlockCompiler(this, blockLength).compile(blocks), entries);
+    } catch (ReflectiveOperationException | LinkageError e){
+      compileError = e.toString(); // Keep interpreting.
+    }
+  }
+
+  public int compiledBlocks(){
+    return tier == null ? 0 : compiledBlocks;
+  }
+
+  public long compiledCycles(){
+    return compiledCycles;
+  }
+
+  public String compileError(){
+    return compileError;
+  }
+}
@@ -0,0 +1,178 @@
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+/*
+  Behaviour checks of the VirtualMachineTranslator. Every program of the programs directory is translated with
+  each combination of the options, assembled by the Project 6 Assembler with and without --optimize, and run on
+  the MicroOpEmulator until it reaches its final loop, where it has to hold the expected results.
+  Prints every check that failed and exits with status 1 when there was one.
+*/
+public class TranslatorCheck{
+
+  static final String[][] MODES = {
+    {},
+    {"--compact-calls"},
+    {"--shared-comparisons"},
+    {"--shared-comparisons", "--comparison-budget", "0"},
+    {"--compact-calls", "--shared-comparisons", "--comparison-budget", "0"}
+  };
+
+  // Address the Fib program reads its argument from.
+  static final int FIB_ARGUMENT = 1000;
+
+  static final int TEMP = 5;
+
+  private static int failures = 0;
+
+  private static void check(boolean condition, String message){
+    if (!condition){
+      System.out.println("FAILED: " + message);
+      failures++;
+    }
+  }
+
+  /*
+    java TranslatorCheck [programs directory] [Snake sources directory]
+  */
+  public static void main(String[] args) throws Exception{
+    Path programs = Paths.get(args.length > 0 ? args[0] : "programs");
+    Path snake = Paths.get(args.length > 1 ? args[1] : "../../JiangJinglunProject9");
+    Path work = Files.createTempDirectory("translator-check");
+
+    for (int mode = 0; mode < MODES.length; mode++){
+      Path directory = Files.createDirectories(work.resolve("mode" + mode));
+      copy(programs, directory);
+      String name = MODES[mode].length == 0 ? "default" : String.join(" ", MODES[mode]);
+
+      String arith = translate(MODES[mode], directory.resolve("Arith.vm"));
+      for (boolean optimize : new boolean[]{false, true}){
+        HackEmulator emulator = run(arith, optimize, new int[]{0, 256});
+        expect(name, optimize, "Arith", emulator, TEMP, 12, -1, -1, 0, -1, 0, -6);
+      }
+
+      String loop = translate(MODES[mode], directory.resolve("Loop"));
+      for (boolean optimize : new boolean[]{false, true}){
+        HackEmulator emulator = run(loop, optimize, new int[0]);
+        expect(name, optimize, "Loop", emulator, TEMP, 190, 20, 19, -1);
+      }
+
+      String fib = translate(MODES[mode], directory.resolve("Fib"));
+      int[] fibonacci = {0, 1, 1, 2, 3, 5, 8, 13, 21, 34, 55};
+      for (int n : new int[]{0, 1, 2, 5, 10}){
+        for (boolean optimize : new boolean[]{false, true}){
+          HackEmulator emulator = run(fib, optimize, new int[]{FIB_ARGUMENT, n});
+          expect(name, optimize, "Fib " + n, emulator, TEMP, fibonacci[n]);
+          // The bootstrap call to Sys.init leaves its frame on the stack.
+          expect(name, optimize, "Fib " + n + " SP", emulator, 0, 261);
+        }
+      }
+    }
+
+    checkDeterministic(programs, work);
+    checkSnakeSizes(snake, work);
+    checkErrorLine(work);
+
+    if (failures > 0){
+      System.out.println(failures + " checks failed");
+      System.exit(1);
+    }
+    System.out.println("All translator checks passed");
+  }
+
+  private static void copy(Path from, Path to) throws IOException{
+    try (var paths = Files.walk(from)){
+      for (Path path : (Iterable<Path>) paths::iterator){
+        Path target = to.resolve(from.relativize(path).toString());
+        if (Files.isDirectory(path)){
+          Files.createDirectories(target);
+        }
+        else{
+          Files.copy(path, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+      }
+    }
+  }
+
+  /*
+    Translates a file or directory with the options and returns the path of the .asm file.
+  */
+  private static String translate(String[] options, Path input){
+    String[] args = Arrays.copyOf(options, options.length + 1);
+    args[options.length] = input.toString();
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    int status = VirtualMachineTranslator.run(args, new PrintStream(new ByteArrayOutputStream(), true),
+        new PrintStream(err, true));
+    check(status == 0, String.join(" ", args) + " exited with " + status + ": " + err);
+    return Files.isDirectory(input) ? input.resolve(input.getFileName() + ".asm").toString()
+        : input.toString().replace(".vm", ".asm");
+  }
+
+  private static HackEmulator run(String asm, boolean optimize, int[] pokes) throws IOException{
+    HackEmulator emulator = new MicroOpEmulator();
+    emulator.load(new Assembler().assembleWords(Assembler.fileSource(asm), null, optimize));
+    for (int i = 0; i < pokes.length; i += 2){
+      emulator.poke(pokes[i], pokes[i + 1]);
+    }
+    emulator.run(10_000_000);
+    return emulator;
+  }
+
+  // The program has to have halted with the given values in the words from address on.
+  private static void expect(String mode, boolean optimize, String program, HackEmulator emulator, int address,
+      int... values){
+    String name = program + " (" + mode + (optimize ? ", optimized" : "") + ")";
+    check(emulator.halted(), name + " did not reach its final loop in " + emulator.cycles() + " cycles");
+    for (int i = 0; i < values.length; i++){
+      check(emulator.peek(address + i) == values[i], name + ": RAM[" + (address + i) + "] is "
+          + emulator.peek(address + i) + " instead of " + values[i]);
+    }
+  }
+
+  /*
+    Translating a directory twice gives the same text, though its files are translated in parallel.
+  */
+  private static void checkDeterministic(Path programs, Path work) throws IOException{
+    for (String[] options : MODES){
+      String[] texts = new String[2];
+      for (int run = 0; run < texts.length; run++){
+        Path directory = Files.createDirectories(work.resolve("deterministic" + run));
+        copy(programs, directory);
+        texts[run] = Files.readString(Paths.get(translate(options, directory.resolve("Loop"))));
+      }
+      check(texts[0].equals(texts[1]), "Loop translated with " + String.join(" ", options) + " differs between runs");
+    }
+  }
+
+  /*
+    The ROM sizes of the Project 9 Snake game given in the README, with inline and shared calls and comparisons.
+  */
+  private static void checkSnakeSizes(Path snake, Path work) throws IOException{
+    String[][] modes = {{}, {"--compact-calls"}, {"--shared-comparisons"}, {"--compact-calls", "--shared-comparisons"}};
+    int[] expected = {14040, 8539, 13908, 8405};
+    for (int mode = 0; mode < modes.length; mode++){
+      Path directory = Files.createDirectories(work.resolve("size" + mode).resolve("Snake"));
+      try (DirectoryStream<Path> sources = Files.newDirectoryStream(snake, "*.vm")){
+        for (Path source : sources){
+          Files.copy(source, directory.resolve(source.getFileName().toString()), StandardCopyOption.REPLACE_EXISTING);
+        }
+      }
+      String asm = translate(modes[mode], directory);
+      int size = new Assembler().assembleWords(Assembler.fileSource(asm), null).length;
+      check(size == expected[mode], "Snake translated with " + String.join(" ", modes[mode]) + " has " + size
+          + " instructions instead of " + expected[mode]);
+    }
+  }
+
+  /*
+    An error names the line it is on, counting blank lines and comments.
+  */
+  private static void checkErrorLine(Path work) throws IOException{
+    Path bad = work.resolve("Bad.vm");
+    Files.writeString(bad, "// comment\nfunction Main.main 0\n\npush constant x\nreturn\n");
+    ByteArrayOutputStream err = new ByteArrayOutputStream();
+    int status = VirtualMachineTranslator.run(new String[]{bad.toString()},
+        new PrintStream(new ByteArrayOutputStream(), true), new PrintStream(err, true));
+    check(status == 1 && err.toString().contains("line 4"), "An error on line 4 is reported as: " + err);
+  }
+}
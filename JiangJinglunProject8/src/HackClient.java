@@ -0,0 +1,74 @@
+import java.io.*;
+import java.net.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+
+/*
+  Thin client of the HackDaemon: java HackClient <translate|assemble|stop> <arguments>
+
+  The job is sent to the daemon when one is listening, otherwise it runs in this JVM, so builds work the same
+  with or without a daemon. The socket path can be set with the HACK_DAEMON_SOCKET environment variable.
+*/
+public class HackClient{
+
+  public static void main(String[] args){
+    if (args.length == 0){
+      System.err.println("Usage: java HackClient <translate|assemble|stop> <arguments>");
+      System.exit(1);
+    }
+
+    String tool = args[0];
+    String[] jobArgs = new String[args.length - 1];
+    for (int i = 1; i < args.length; i++){
+      jobArgs[i - 1] = absolute(args[i]);
+    }
+
+    String socketPath = System.getenv("HACK_DAEMON_SOCKET");
+    if (socketPath == null){
+      socketPath = HackDaemon.DEFAULT_SOCKET;
+    }
+
+    int status;
+    try{
+      status = send(socketPath, tool, jobArgs);
+    } catch (IOException e){
+      if (tool.equals("stop")){
+        System.err.println("No daemon is running on " + socketPath);
+        status = 1;
+      }
+      else{
+        status = HackDaemon.runJob(tool, jobArgs, System.out, System.err);
+      }
+    }
+    System.exit(status);
+  }
+
+  /*
+    Options and plain numbers are sent unchanged, everything else is a path and is made absolute.
+  */
+  private static String absolute(String arg){
+    if (arg.startsWith("-") || arg.matches("\\d+")){
+      return arg;
+    }
+    return Paths.get(arg).toAbsolutePath().toString();
+  }
+
+  private static int send(String socketPath, String tool, String[] args) throws IOException{
+    try (SocketChannel channel = SocketChannel.open(UnixDomainSocketAddress.of(socketPath));
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+      DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)))){
+
+      output.writeUTF(tool);
+      output.writeInt(args.length);
+      for (String arg : args){
+        output.writeUTF(arg);
+      }
+      output.flush();
+
+      int status = input.readInt();
+      System.out.print(HackDaemon.readBytes(input));
+      System.err.print(HackDaemon.readBytes(input));
+      return status;
+    }
+  }
+}
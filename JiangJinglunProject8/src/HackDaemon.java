@@ -0,0 +1,152 @@
+import java.io.*;
+import java.lang.reflect.*;
+import java.net.*;
+import java.nio.channels.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.*;
+
+/*
+  Long-lived build server that runs translate and assemble jobs on an already warm JVM.
+
+  It listens on a Unix domain socket. A request is the tool name ("translate", "assemble" or "stop") followed by
+  the argument count and the arguments, all written with DataOutputStream. The reply is the exit status followed
+  by everything the job printed to its standard output and standard error. Paths in the arguments must be
+  absolute, since the daemon does not share the working directory of the client; HackClient takes care of that.
+
+  Every job runs with its own state: the Assembler creates a new instance per file, and the translator
+  keeps its label counters per file.
+*/
+public class HackDaemon{
+
+  public static final String DEFAULT_SOCKET = System.getProperty("java.io.tmpdir") + File.separator + "hack-daemon.sock";
+
+  /*
+    Runs one job in the current JVM, capturing what it prints.
+  */
+  public static int runJob(String tool, String[] args, PrintStream out, PrintStream err){
+    switch (tool){
+      case "translate":
+        return VirtualMachineTranslator.run(args, out, err);
+      case "assemble":
+        return runAssembler(args, out, err);
+      default:
+        err.println("Unknown tool: " + tool);
+        return 1;
+    }
+  }
+
+  /*
+    The Assembler lives in Project 6, so it is looked up at run time instead of being compiled against.
+    Assembling only works when its classes are on the class path.
+  */
+  private static int runAssembler(String[] args, PrintStream out, PrintStream err){
+    try{
+      Method run = Class.forName("Assembler").getMethod("run", String[].class, PrintStream.class, PrintStream.class);
+      return (Integer) run.invoke(null, args, out, err);
+    } catch (ClassNotFoundException e){
+      err.println("The Assembler is not on the class path, add JiangJinglunProject6/src to it"
+          + " (java -cp .:../../JiangJinglunProject6/src ...)");
+      return 1;
+    } catch (InvocationTargetException e){
+      err.println("Assembler failed: " + e.getCause());
+      return 1;
+    } catch (ReflectiveOperationException e){
+      err.println("Cannot run the Assembler: " + e);
+      return 1;
+    }
+  }
+
+  private final Path socketPath;
+
+  private final ExecutorService workers;
+
+  private volatile boolean running = true;
+
+  public HackDaemon(String socketPath, int threads){
+    this.socketPath = Paths.get(socketPath);
+    this.workers = Executors.newFixedThreadPool(threads);
+  }
+
+  public void serve() throws IOException{
+    Files.deleteIfExists(socketPath); // Left behind by a daemon that did not shut down cleanly.
+    try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)){
+      server.bind(UnixDomainSocketAddress.of(socketPath));
+      while (running){
+        SocketChannel client;
+        try{
+          client = server.accept();
+        } catch (ClosedChannelException e){
+          break;
+        }
+        workers.submit(() -> handle(client, server));
+      }
+    } finally{
+      workers.shutdown();
+      Files.deleteIfExists(socketPath);
+    }
+  }
+
+  private void handle(SocketChannel client, ServerSocketChannel server){
+    try (SocketChannel channel = client;
+      DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)))){
+
+      String tool = input.readUTF();
+      String[] args = new String[input.readInt()];
+      for (int i = 0; i < args.length; i++){
+        args[i] = input.readUTF();
+      }
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      ByteArrayOutputStream err = new ByteArrayOutputStream();
+      int status;
+      if (tool.equals("stop")){
+        running = false;
+        new PrintStream(out, true, "UTF-8").println("Daemon stopped.");
+        status = 0;
+      }
+      else{
+        try (PrintStream jobOut = new PrintStream(out, true, "UTF-8");
+          PrintStream jobErr = new PrintStream(err, true, "UTF-8")){
+          status = runJob(tool, args, jobOut, jobErr);
+        } catch (RuntimeException e){
+          new PrintStream(err, true, "UTF-8").println("Job failed: " + e);
+          status = 1;
+        }
+      }
+
+      output.writeInt(status);
+      writeBytes(output, out.toByteArray());
+      writeBytes(output, err.toByteArray());
+      output.flush();
+
+      if (!running){
+        server.close(); // Wakes up the accept loop.
+      }
+    } catch (IOException e){
+      System.err.println("Error serving a client: " + e.getMessage());
+    }
+  }
+
+  static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException{
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  static String readBytes(DataInputStream input) throws IOException{
+    byte[] bytes = new byte[input.readInt()];
+    input.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  public static void main(String[] args){
+    String socketPath = args.length > 0 ? args[0] : DEFAULT_SOCKET;
+    try{
+      System.out.println("Listening on " + socketPath);
+      new HackDaemon(socketPath, Runtime.getRuntime().availableProcessors()).serve();
+    } catch (IOException e){
+      System.err.println("Cannot run the daemon: " + e.getMessage());
+    }
+  }
+}
@@ -1,30 +1,70 @@
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 import java.nio.file.*;
 
 public class VirtualMachineTranslator{
 
-  private static final String[] ARITHMETIC_COMMANDS = {"add", "sub", "neg", "eq", "gt", "lt", "and", "or", "not"};
+  // Generated code is collected in one StringBuilder and written out once it has this many characters.
+  private static final int FLUSH_SIZE = 1 << 16;
 
-  private static final String[] MEMORY_ACCESS_COMMANDS = {"push", "pop"};
-
-  private static final String[] PROGRAM_FLOW_COMMANDS = {"label", "goto", "if-goto"};
-
-  private static final String[] FUNCTION_CALLING_COMMANDS = {"function", "call", "return"};
-
-  private static final String[] SEGMENT_MAP = {"argument", "local", "this", "that"};
-
-  private static final String[] TEMP_SEGMENTS = {"0", "1", "2", "3", "4", "5", "6", "7"};
+  /*
+    The state of translating one file, so that files can be translated independently and in parallel.
+    Every label the translator generates starts with the file name, and the labels of the VM code are
+    prefixed with the function they are in, so no two files or functions can produce the same label.
+  */
+  private static final class Translation{
+    final String fileName;
+    final StringBuilder asmCode;
+    final Options options;
+    // The function being translated, the file name before the first function.
+    String function;
+    int labelCounter = 0;
+    int returnCounter = 0;
+    // Hack instructions generated, and call and return commands translated.
+    int instructions = 0;
+    int calls = 0;
+    int returns = 0;
+    // eq, gt and lt commands translated, and those that jump to a shared routine.
+    int comparisons = 0;
+    int sharedComparisons = 0;
+    // What is left of the comparison budget of the file.
+    int comparisonBudget;
 
-  private static final String STATIC_SEGMENT = "static";
+    Translation(String fileName, StringBuilder asmCode, Options options){
+      this.fileName = fileName;
+      this.asmCode = asmCode;
+      this.options = options;
+      this.function = fileName;
+      this.comparisonBudget = options.comparisonBudget;
+    }
 
-  private static final String POINTER_SEGMENT = "pointer";
+    void add(Translation other){
+      instructions += other.instructions;
+      calls += other.calls;
+      returns += other.returns;
+      comparisons += other.comparisons;
+      sharedComparisons += other.sharedComparisons;
+    }
+  }
 
-  private static final String CONSTANT_SEGMENT = "constant";
+  /*
+    Code generation settings of the command line.
+  */
+  static final class Options{
+    // Calls and returns jump to one shared routine each instead of inlining the whole frame handling.
+    boolean compactCalls = false;
+    // eq, gt and lt jump to one shared routine per operator, except those in loops that fit the budget.
+    boolean sharedComparisons = false;
+    // Instructions each file may spend on keeping comparisons in loops inline, spent function by function in the
+    // order of the file and on the innermost loops of a function first.
+    int comparisonBudget = 64;
+  }
 
-  private static int labelCounter = 0;
+  // The shared routines of the compact calling convention.
+  private static final String CALL_ROUTINE = "$call";
 
-  private static int returnCounter = 0;
+  private static final String RETURN_ROUTINE = "$return";
 
   /* 
     Main function that takes in the input file
@@ -32,204 +72,387 @@ public class VirtualMachineTranslator{
     Call the translateVMtoASM function
   */
   public static void main(String[] args){
-    if (args.length == 0){
-      System.err.println("Usage: java VirtualMachineTranslator <input-file>");
-      return;
+    int status = run(args, System.out, System.err);
+    if (status != 0){
+      System.exit(status);
+    }
+  }
+
+  /*
+    Runs the translator with its messages going to out and err instead of the console.
+    Returns 0 on success and 1 otherwise. Used by main and the build daemon.
+    Every file keeps its own label counters, so runs can overlap.
+  */
+  public static int run(String[] args, PrintStream out, PrintStream err){
+    Options options = new Options();
+    String inputFileName = null;
+    for (int i = 0; i < args.length; i++){
+      String arg = args[i];
+      if (arg.equals("--compact-calls")){
+        options.compactCalls = true;
+      }
+      else if (arg.equals("--shared-comparisons")){
+        options.sharedComparisons = true;
+      }
+      else if (arg.equals("--comparison-budget") && i + 1 < args.length && args[i + 1].matches("\\d{1,9}")){
+        options.comparisonBudget = Integer.parseInt(args[++i]);
+      }
+      else if (arg.startsWith("--") || inputFileName != null){
+        inputFileName = null;
+        break;
+      }
+      else{
+        inputFileName = arg;
+      }
+    }
+    if (inputFileName == null){
+      err.println("Usage: java VirtualMachineTranslator [--compact-calls] [--shared-comparisons]"
+          + " [--comparison-budget <instructions>] <input-file>");
+      return 1;
     }
 
-    String inputFileName = args[0];
     File inputFile = new File(inputFileName);
 
     if (inputFile.isFile()){
-      translateFile(inputFileName);
+      return translateFile(inputFileName, options, out, err) ? 0 : 1;
     } else if (inputFile.isDirectory()){
-      translateDirectory(inputFile);
+      return translateDirectory(inputFile, options, out, err) ? 0 : 1;
     } else{
-      System.err.println("Invalid input: " + inputFileName);
+      err.println("Invalid input: " + inputFileName);
+      return 1;
     }
-
-    // String inputFileName = args[0];
-    // String outputFileName = inputFileName.replace(".vm", ".asm");
-
-    // try{
-    //   List<String> commands = Files.readAllLines(Paths.get(inputFileName));
-    //   List<String> translatedCommands = translateVMtoASM(commands);
-
-    //   String bootstrapCode = generateBoostrapCode();
-    //   translatedCommands.add(0, bootstrapCode);
-
-    //   writeLinesToFile(outputFileName, translatedCommands);
-
-    //   System.out.println("Translation completed. Output file: " + outputFileName);
-    // } catch (IOException e){
-    //   System.err.println("Error reading input file: " + e.getMessage());
-    // }
   }
 
   /*
     Translate file logic which translates the file.
+    The commands are read one function at a time and their code goes straight to the output file.
   */
-  private static void translateFile(String inputFileName) {
+  private static boolean translateFile(String inputFileName, Options options, PrintStream out, PrintStream err) {
     String outputFileName = inputFileName.replace(".vm", ".asm");
     String fileNameWithoutExtension = new File(inputFileName).getName().replaceFirst("[.][^.]+$", "");
+    Translation translation = new Translation(fileNameWithoutExtension, new StringBuilder(FLUSH_SIZE + 1024), options);
 
-    try {
-      List<String> commands = Files.readAllLines(Paths.get(inputFileName));
-      List<String> translatedCommands = translateVMtoASM(commands, fileNameWithoutExtension);
-
-      writeLinesToFile(outputFileName, translatedCommands);
-
-      System.out.println("Translation completed. Output file: " + outputFileName);
+    try (Writer writer = openOutput(outputFileName)) {
+      try (BufferedReader reader = Files.newBufferedReader(Paths.get(inputFileName))) {
+        translateVMtoASM(reader, translation, writer);
+      } catch (IOException e) {
+        err.println("Error reading input file: " + e.getMessage());
+        return false;
+      } catch (IllegalArgumentException e) {
+        err.println("Error in input file: " + e.getMessage());
+        return false;
+      }
+      if (options.compactCalls || options.sharedComparisons){
+        // Without bootstrap code the program starts with its first command, so the routines go last.
+        generateSharedRoutines(translation.asmCode, options);
+      }
+      flush(translation, writer);
     } catch (IOException e) {
-      System.err.println("Error reading input file: " + e.getMessage());
+      err.println("Error writing to file: " + e.getMessage());
+      return false;
     }
+    out.println("Translation completed. Output file: " + outputFileName);
+    printSizeReport(translation, out);
+    return true;
   }
 
   /*
     When the input is directory, direct to the translateDirectory logic.
+    The files are translated in parallel, each into its own buffer, and written in the order of their names
+    after the bootstrap code, so the output is the same on every run. At most two files per thread are
+    translated ahead of the one being written, which keeps memory use independent of the number of files.
   */
-  private static void translateDirectory(File inputFile) {
+  private static boolean translateDirectory(File inputFile, Options options, PrintStream out, PrintStream err) {
       String[] files = inputFile.list((dir, name) -> name.endsWith(".vm"));
       String parentDirectoryName = inputFile.getName();
       String parentDirectoryPath = inputFile.getPath();
+      String outputFileName = parentDirectoryPath + File.separator + parentDirectoryName + ".asm";
+      boolean succeeded = true;
+      Arrays.sort(files);
 
-      String bootstrapCode = generateBoostrapCode();
-      List<String> allTranslatedCommands = new ArrayList<>();
-
-      for (String file : files) {
-          String fileNameWithoutExtension = new File(file).getName().replaceFirst("[.][^.]+$", "");
+      int threads = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), files.length));
+      ExecutorService pool = Executors.newFixedThreadPool(threads);
+      Translation total = new Translation("$bootstrap", new StringBuilder(), options);
+      try (Writer writer = openOutput(outputFileName)) {
+          generateBoostrapCode(total);
+          flush(total, writer);
 
-          try {
-              List<String> commands = Files.readAllLines(Paths.get(parentDirectoryPath, file));
-              List<String> translatedCommands = translateVMtoASM(commands, fileNameWithoutExtension);
-              allTranslatedCommands.addAll(translatedCommands);
-          } catch (IOException e) {
-              System.err.println("Error reading input file: " + e.getMessage());
+          Deque<Future<Translation>> translations = new ArrayDeque<>();
+          for (int next = 0; next < files.length || !translations.isEmpty(); ) {
+              if (next < files.length && translations.size() < 2 * threads) {
+                  Path file = Paths.get(parentDirectoryPath, files[next++]);
+                  translations.add(pool.submit(() -> translateToBuffer(file, options)));
+                  continue;
+              }
+              try {
+                  Translation translation = translations.poll().get();
+                  writer.append(translation.asmCode);
+                  total.add(translation);
+              } catch (ExecutionException e) {
+                  err.println((e.getCause() instanceof IOException ? "Error reading input file: " : "Error in input file: ")
+                      + e.getCause().getMessage());
+                  succeeded = false;
+              }
           }
+      } catch (IOException e) {
+          err.println("Error writing to file: " + e.getMessage());
+          return false;
+      } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+      } finally {
+          pool.shutdownNow();
       }
+      out.println("Translation completed. Output file: " + outputFileName);
+      printSizeReport(total, out);
+      return succeeded;
+  }
 
-      allTranslatedCommands.add(0, bootstrapCode);
-
-      String outputFileName = parentDirectoryPath + File.separator + parentDirectoryName + ".asm";
-      writeLinesToFile(outputFileName, allTranslatedCommands);
-      System.out.println("Translation completed. Output file: " + outputFileName);
+  /*
+    Translates one file of a directory into memory. Unlike translateFile the whole code of the file is kept,
+    so it can be written after the files before it.
+  */
+  private static Translation translateToBuffer(Path file, Options options) throws IOException {
+      String fileNameWithoutExtension = file.getFileName().toString().replaceFirst("[.][^.]+$", "");
+      Translation translation = new Translation(fileNameWithoutExtension, new StringBuilder(), options);
+      try (BufferedReader reader = Files.newBufferedReader(file)) {
+          translateVMtoASM(reader, translation, null);
+      }
+      translation.instructions += countInstructions(translation.asmCode);
+      return translation;
   }
 
   /*
     The bootstrap code generator
   */
-  private static String generateBoostrapCode(){
-    StringBuilder bootstrapCode = new StringBuilder();
-    bootstrapCode.append("// Bootstrap code\n");
-    bootstrapCode.append("@256\n");
-    bootstrapCode.append("D=A\n");
-    bootstrapCode.append("@SP\n");
-    bootstrapCode.append("M=D\n");
-    bootstrapCode.append(functionCall("Sys.init", "0"));
-    return bootstrapCode.toString();
+  private static void generateBoostrapCode(Translation bootstrap){
+    StringBuilder asmCode = bootstrap.asmCode;
+    asmCode.append("// Bootstrap code\n");
+    asmCode.append("@256\n");
+    asmCode.append("D=A\n");
+    asmCode.append("@SP\n");
+    asmCode.append("M=D\n");
+    functionCall("Sys.init", 0, bootstrap);
+    if (bootstrap.options.compactCalls || bootstrap.options.sharedComparisons){
+      generateSharedRoutines(asmCode, bootstrap.options);
+    }
   }
 
   /*
-    Write a list of strings to the target file
-    Included the expected error handling
+    Writes out the code collected so far, counting its instructions.
   */
-  private static void writeLinesToFile(String fileName, List<String> lines){
-    try(FileWriter writer = new FileWriter(fileName)){
-      for (String line : lines){
-        writer.write(line);
-      }
-    } catch(IOException e){
-      System.err.println("Error writing to file: " + e.getMessage());
-    }
+  private static void flush(Translation translation, Writer output) throws IOException{
+    translation.instructions += countInstructions(translation.asmCode);
+    output.append(translation.asmCode);
+    translation.asmCode.setLength(0);
   }
 
   /*
-    translateVMtoASM method takes a list of strings from the input file
-    For each of the command, check if it is an arithmetic command or memory access command
-    Write an infinite loop at the end of the file
+    Number of Hack instructions in generated code, every line that is not empty, a label or a comment.
   */
-  private static List<String> translateVMtoASM(List<String> commands, String fileName){
-    List<String> translatedCommands = new ArrayList<>();
-    for (String command : commands){
-      command = command.trim();
-      if (command.isEmpty() || command.startsWith("//")) {
-        continue;
-      }
-      String[] parts = command.split("\\s+");
-      if (parts.length == 0){
-        continue;
+  private static int countInstructions(CharSequence asmCode){
+    int count = 0;
+    int length = asmCode.length();
+    for (int start = 0; start < length; ){
+      char first = asmCode.charAt(start);
+      if (first != '\n' && first != '(' && first != '/'){
+        count++;
       }
-      if (isArithmeticCommand(parts[0])){
-        translatedCommands.add(translateArithmeticCommand(parts[0]));
-      }
-      else if (isMemoryAccessCommand(parts[0])){
-        translatedCommands.add(translateMemoryAccessCommand(parts, fileName));
-      }
-      else if (isProgramFlowCommand(parts[0])){
-        translatedCommands.add(translateProgramFlowCommand(parts));
-      }
-      else if (isFunctionCallingCommand(parts[0])){
-        translatedCommands.add(translateFunctionCallingCommand(parts));
+      while (start < length && asmCode.charAt(start) != '\n'){
+        start++;
       }
+      start++;
     }
-    // translatedCommands.add("(END_LOOP)\n");
-    // translatedCommands.add("@END_LOOP\n");
-    // translatedCommands.add("0;JMP");
-    return translatedCommands;
+    return count;
   }
 
   /*
-    isArithmeticCommand function check command if it is an arithmetic command
-    Input is a string and output is a boolean value
-    If the input command is in any of the reserved arithmetic commands, return true
+    With --compact-calls or --shared-comparisons, prints the size of the program, the size it would have with every
+    call, return and comparison inline, and the cycles the shared routines add to each of them.
   */
-  private static boolean isArithmeticCommand(String command){
-    for (String cmd : ARITHMETIC_COMMANDS){
-      if (cmd.equals(command)){
-        return true;
-      }
+  private static void printSizeReport(Translation translation, PrintStream out){
+    Options options = translation.options;
+    if (!options.compactCalls && !options.sharedComparisons){
+      return;
     }
-    return false;
+    StringBuilder routines = new StringBuilder();
+    generateSharedRoutines(routines, options);
+    // Without the routines, and with every call, return and comparison inline again.
+    long inlineSize = translation.instructions - countInstructions(routines);
+    List<String> inlined = new ArrayList<>();
+    List<String> counts = new ArrayList<>();
+    StringBuilder costs = new StringBuilder();
+    if (options.compactCalls){
+      int inlineCall = callSize(false);
+      int compactCall = callSize(true);
+      int inlineReturn = returnSize(false);
+      int compactReturn = returnSize(true);
+      StringBuilder routine = new StringBuilder();
+      generateCallRoutine(routine);
+      inlineSize += (long) translation.calls * (inlineCall - compactCall) + (long) translation.returns * (inlineReturn - compactReturn);
+      inlined.add("calls");
+      inlined.add("returns");
+      counts.add(translation.calls + " calls");
+      counts.add(translation.returns + " returns");
+      // The call routine has no branches, so its size is also the number of cycles it takes.
+      costs.append(" Each call takes ").append(compactCall + countInstructions(routine) - inlineCall)
+          .append(" cycles more and each return ").append(compactReturn).append(" more.");
+    }
+    if (options.sharedComparisons){
+      int inlineComparison = comparisonSize(false);
+      int sharedComparison = comparisonSize(true);
+      StringBuilder routine = new StringBuilder();
+      generateComparisonRoutine(VmProgram.Opcode.EQ, routine);
+      inlineSize += (long) translation.sharedComparisons * (inlineComparison - sharedComparison);
+      inlined.add("comparisons");
+      counts.add(translation.sharedComparisons + " of " + translation.comparisons + " comparisons shared");
+      // The routine branches like the inline code, the rest of it is the cost of the jumps there and back.
+      costs.append(" Each shared comparison takes ").append(sharedComparison + countInstructions(routine) - inlineComparison)
+          .append(" cycles more.");
+    }
+    String inlinedText = inlined.size() == 1 ? inlined.get(0)
+        : String.join(", ", inlined.subList(0, inlined.size() - 1)) + " and " + inlined.get(inlined.size() - 1);
+    out.println("ROM: " + translation.instructions + " instructions instead of " + inlineSize + " with inline " + inlinedText
+        + " (" + String.join(", ", counts) + ")." + costs);
+  }
+
+  // Instructions generated for one call, or one return.
+  private static int callSize(boolean compactCalls){
+    Options options = new Options();
+    options.compactCalls = compactCalls;
+    Translation translation = new Translation("$size", new StringBuilder(), options);
+    functionCall("f", 0, translation);
+    return countInstructions(translation.asmCode);
+  }
+
+  private static int returnSize(boolean compactCalls){
+    Options options = new Options();
+    options.compactCalls = compactCalls;
+    Translation translation = new Translation("$size", new StringBuilder(), options);
+    functionReturn(translation);
+    return countInstructions(translation.asmCode);
+  }
+
+  // Instructions generated for one comparison.
+  private static int comparisonSize(boolean shared){
+    Translation translation = new Translation("$size", new StringBuilder(), new Options());
+    translateArithmeticCommand(VmProgram.Opcode.EQ, translation, shared);
+    return countInstructions(translation.asmCode);
   }
 
   /*
-    Check if a given command is a memory-accessing command
-    If the command is in any of the reserved memory accessing command, return true
+    Opens the output file with a large buffer, the code of many commands is written in one call.
   */
-  private static boolean isMemoryAccessCommand(String command){
-    for (String cmd : MEMORY_ACCESS_COMMANDS){
-      if (cmd.equals(command)){
-        return true;
-      }
+  private static Writer openOutput(String fileName) throws IOException{
+    return new BufferedWriter(new FileWriter(fileName), FLUSH_SIZE);
+  }
+
+  /*
+    translateVMtoASM method parses the commands of one file from the reader into a VmProgram, one function
+    at a time, and generates the code of each command from its opcode, segment and operand
+    The code is appended to the asmCode of the translation, which is written to the output whenever it
+    grows past FLUSH_SIZE, or kept in memory when there is no output
+    With --shared-comparisons the comparisons are shared except those inlineComparisons picks
+  */
+  private static void translateVMtoASM(BufferedReader commands, Translation translation, Writer output) throws IOException{
+    VmProgram program = VmProgram.read(commands);
+    while (program.next()){
+      translateFunction(program, translation, output);
     }
-    return false;
   }
 
-  private static boolean isProgramFlowCommand(String command){
-    for (String cmd : PROGRAM_FLOW_COMMANDS){
-      if (cmd.equals(command)){
-        return true;
+  private static void translateFunction(VmProgram program, Translation translation, Writer output) throws IOException{
+    StringBuilder asmCode = translation.asmCode;
+    boolean[] inline = translation.options.sharedComparisons ? inlineComparisons(program, translation) : null;
+    for (int command = 0; command < program.size(); command++){
+      VmProgram.Opcode opcode = program.opcode(command);
+      switch (opcode){
+        case PUSH:
+        case POP:
+          translateMemoryAccessCommand(opcode, program.segment(command), program.operand(command), translation.fileName, asmCode);
+          break;
+        case LABEL:
+        case GOTO:
+        case IF_GOTO:
+          translateProgramFlowCommand(opcode, program.name(command), translation);
+          break;
+        case FUNCTION:
+        case CALL:
+        case RETURN:
+          translateFunctionCallingCommand(opcode, program.name(command), program.operand(command), translation);
+          break;
+        default:
+          translateArithmeticCommand(opcode, translation, inline != null && !inline[command]);
+      }
+      if (output != null && asmCode.length() >= FLUSH_SIZE){
+        flush(translation, output);
       }
     }
-    return false;
   }
 
-  private static boolean isFunctionCallingCommand(String command){
-    for (String cmd : FUNCTION_CALLING_COMMANDS){
-      if (cmd.equals(command)){
-        return true;
+  /*
+    Picks the comparisons of a function that stay inline with --shared-comparisons, those in loops, deepest
+    first, as long as the extra instructions fit what is left of the file's budget. A loop is the code from a
+    label to a goto or if-goto back to it, and the depth of a command is the number of loops it is in: every
+    loop adds one at its label and subtracts one after its jump, and the running sum gives the depths.
+  */
+  private static boolean[] inlineComparisons(VmProgram program, Translation translation){
+    int[] delta = new int[program.size() + 1];
+    Map<String, Integer> labels = new HashMap<>();
+    for (int command = 0; command < program.size(); command++){
+      switch (program.opcode(command)){
+        case LABEL:
+          labels.put(program.name(command), command);
+          break;
+        case GOTO:
+        case IF_GOTO:
+          Integer head = labels.get(program.name(command));
+          if (head != null){
+            delta[head]++;
+            delta[command + 1]--;
+          }
+          break;
+        default:
       }
     }
-    return false;
+
+    List<int[]> sites = new ArrayList<>(); // {depth, command}
+    int depth = 0;
+    for (int command = 0; command < program.size(); command++){
+      depth += delta[command];
+      VmProgram.Opcode opcode = program.opcode(command);
+      if (depth > 0 && (opcode == VmProgram.Opcode.EQ || opcode == VmProgram.Opcode.GT || opcode == VmProgram.Opcode.LT)){
+        sites.add(new int[]{depth, command});
+      }
+    }
+    sites.sort((x, y) -> x[0] != y[0] ? Integer.compare(y[0], x[0]) : Integer.compare(x[1], y[1]));
+
+    boolean[] inline = new boolean[program.size()];
+    int cost = comparisonSize(false) - comparisonSize(true);
+    for (int[] site : sites){
+      if (translation.comparisonBudget < cost){
+        break;
+      }
+      inline[site[1]] = true;
+      translation.comparisonBudget -= cost;
+    }
+    return inline;
   }
 
   /*
     Handles the arithmetic command
   */
-  private static String translateArithmeticCommand(String command){
-    StringBuilder asmCode = new StringBuilder();
+  private static void translateArithmeticCommand(VmProgram.Opcode command, Translation translation, boolean shared){
+    StringBuilder asmCode = translation.asmCode;
+    if (command == VmProgram.Opcode.EQ || command == VmProgram.Opcode.GT || command == VmProgram.Opcode.LT){
+      translation.comparisons++;
+      if (shared){
+        sharedComparison(command, translation);
+        return;
+      }
+    }
     switch(command){
-      case "add":
+      case ADD:
         asmCode.append("// add\n");
         asmCode.append("@SP\n");
         asmCode.append("AM=M-1\n");
@@ -237,7 +460,7 @@ public class VirtualMachineTranslator{
         asmCode.append("A=A-1\n");
         asmCode.append("M=D+M\n");
         break;
-      case "sub":
+      case SUB:
         asmCode.append("// sub\n");
         asmCode.append("@SP\n");
         asmCode.append("AM=M-1\n");
@@ -245,13 +468,13 @@ public class VirtualMachineTranslator{
         asmCode.append("A=A-1\n");
         asmCode.append("M=M-D\n");
         break;
-      case "neg":
+      case NEG:
         asmCode.append("// neg\n");
         asmCode.append("@SP\n");
         asmCode.append("A=M-1\n");
         asmCode.append("M=-M\n");
         break;
-      case "eq":
+      case EQ:
         asmCode.append("// eq\n");
         asmCode.append("@SP\n");
         asmCode.append("AM=M-1\n");
@@ -259,15 +482,15 @@ public class VirtualMachineTranslator{
         asmCode.append("A=A-1\n");
         asmCode.append("D=M-D\n");
         asmCode.append("M=-1\n");
-        asmCode.append("@EQUAL").append(labelCounter).append("\n");
+        asmCode.append("@").append(translation.fileName).append(".EQUAL").append(translation.labelCounter).append("\n");
         asmCode.append("D;JEQ\n");
         asmCode.append("@SP\n");
         asmCode.append("A=M-1\n");
         asmCode.append("M=0\n");
-        asmCode.append("(EQUAL" + labelCounter + ")\n");
-        labelCounter++;
+        asmCode.append("(").append(translation.fileName).append(".EQUAL").append(translation.labelCounter).append(")\n");
+        translation.labelCounter++;
         break;
-      case "gt":
+      case GT:
         asmCode.append("// gt\n");
         asmCode.append("@SP\n");
         asmCode.append("AM=M-1\n");
@@ -275,15 +498,15 @@ public class VirtualMachineTranslator{
         asmCode.append("A=A-1\n");
         asmCode.append("D=M-D\n");
         asmCode.append("M=-1\n");
-        asmCode.append("@GREATER_THAN" + labelCounter + "\n");
+        asmCode.append("@").append(translation.fileName).append(".GREATER_THAN").append(translation.labelCounter).append("\n");
         asmCode.append("D;JGT\n");
         asmCode.append("@SP\n");
         asmCode.append("A=M-1\n");
         asmCode.append("M=0\n");
-        asmCode.append("(GREATER_THAN" + labelCounter + ")\n");
-        labelCounter++;
+        asmCode.append("(").append(translation.fileName).append(".GREATER_THAN").append(translation.labelCounter).append(")\n");
+        translation.labelCounter++;
         break;
-      case "lt":
+      case LT:
         asmCode.append("// lt\n");
         asmCode.append("@SP\n");
         asmCode.append("AM=M-1\n");
@@ -291,15 +514,15 @@ public class VirtualMachineTranslator{
         asmCode.append("A=A-1\n");
         asmCode.append("D=M-D\n");
         asmCode.append("M=-1\n");
-        asmCode.append("@LESS_THAN" + labelCounter + "\n");
+        asmCode.append("@").append(translation.fileName).append(".LESS_THAN").append(translation.labelCounter).append("\n");
         asmCode.append("D;JLT\n");
         asmCode.append("@SP\n");
         asmCode.append("A=M-1\n");
         asmCode.append("M=0\n");
-        asmCode.append("(LESS_THAN" + labelCounter + ")\n");
-        labelCounter++;
+        asmCode.append("(").append(translation.fileName).append(".LESS_THAN").append(translation.labelCounter).append(")\n");
+        translation.labelCounter++;
         break;
-      case "and":
+      case AND:
         asmCode.append("// and\n");
         asmCode.append("@SP\n");
         asmCode.append("AM=M-1\n");
@@ -307,7 +530,7 @@ public class VirtualMachineTranslator{
         asmCode.append("A=A-1\n");
         asmCode.append("M=D&M\n");
         break;
-      case "or":
+      case OR:
         asmCode.append("// or\n");
         asmCode.append("@SP\n");
         asmCode.append("AM=M-1\n");
@@ -315,7 +538,7 @@ public class VirtualMachineTranslator{
         asmCode.append("A=A-1\n");
         asmCode.append("M=D|M\n");
         break;
-      case "not":
+      case NOT:
         asmCode.append("// not\n");
         asmCode.append("@SP\n");
         asmCode.append("A=M-1\n");
@@ -324,32 +547,86 @@ public class VirtualMachineTranslator{
       default:
         break;
     }
-    return asmCode.toString();
+  }
+
+  /*
+    A comparison of --shared-comparisons, a jump to the routine of its operator with the return address in D.
+    The return label is named like the label of the inline code, so sharing adds no symbols.
+  */
+  private static void sharedComparison(VmProgram.Opcode command, Translation translation){
+    StringBuilder asmCode = translation.asmCode;
+    String returnAddress = translation.fileName + "." + comparisonLabel(command) + translation.labelCounter;
+    translation.sharedComparisons++;
+    translation.labelCounter++;
+    asmCode.append("// ").append(command.mnemonic).append("\n");
+    asmCode.append("@").append(returnAddress).append("\n");
+    asmCode.append("D=A\n");
+    asmCode.append("@$").append(command.mnemonic).append("\n");
+    asmCode.append("0;JMP\n");
+    asmCode.append("(").append(returnAddress).append(")\n");
+  }
+
+  /*
+    The shared routine of eq, gt or lt: the inline code of the comparison between saving the return address
+    from D in R15 and jumping back to it.
+  */
+  private static void generateComparisonRoutine(VmProgram.Opcode command, StringBuilder asmCode){
+    String routine = "$" + command.mnemonic;
+    asmCode.append("\n(").append(routine).append(")\n");
+    asmCode.append("@R15\n");
+    asmCode.append("M=D\n");
+    asmCode.append("@SP\n");
+    asmCode.append("AM=M-1\n");
+    asmCode.append("D=M\n");
+    asmCode.append("A=A-1\n");
+    asmCode.append("D=M-D\n");
+    asmCode.append("M=-1\n");
+    asmCode.append("@").append(routine).append(".TRUE\n");
+    asmCode.append("D;J").append(command == VmProgram.Opcode.EQ ? "EQ" : command == VmProgram.Opcode.GT ? "GT" : "LT").append("\n");
+    asmCode.append("@SP\n");
+    asmCode.append("A=M-1\n");
+    asmCode.append("M=0\n");
+    asmCode.append("(").append(routine).append(".TRUE)\n");
+    asmCode.append("@R15\n");
+    asmCode.append("A=M\n");
+    asmCode.append("0;JMP\n");
+  }
+
+  // The name of the labels the translator generates for a comparison.
+  private static String comparisonLabel(VmProgram.Opcode command){
+    switch (command){
+      case EQ:
+        return "EQUAL";
+      case GT:
+        return "GREATER_THAN";
+      default:
+        return "LESS_THAN";
+    }
   }
 
   /*
     A seperate method use to handle push to stack for all the memory accessing method
   */
-  private static String pushDToStack(){
-    return "@SP\n" + 
+  private static void pushDToStack(StringBuilder asmCode){
+    asmCode.append("@SP\n" + 
             "A=M\n" +
             "M=D\n" +
             "@SP\n" +
-            "M=M+1\n";
+            "M=M+1\n");
   }
 
   /*
     A mapping method used to return the reserved segments
   */
-  private static String getSegmentPointer(String segment){
+  private static String getSegmentPointer(VmProgram.Segment segment){
     switch (segment){
-      case "local":
+      case LOCAL:
         return "LCL";
-      case "argument":
+      case ARGUMENT:
         return "ARG";
-      case "this":
+      case THIS:
         return "THIS";
-      case "that":
+      case THAT:
         return "THAT";
       default:
         return "";
@@ -358,69 +635,63 @@ public class VirtualMachineTranslator{
 
   /*
     translateMamoryAccesssCommand helps to handle the memory access commands
-    Takes in the command by parts
+    Takes in the command with its segment and index
   */
-  private static String translateMemoryAccessCommand(String[] parts, String fileName){
-    StringBuilder asmCode = new StringBuilder();
-    String segment = parts[1];
-    String index = parts[2];
-    switch (parts[0]){
-      case "push":{
+  private static void translateMemoryAccessCommand(VmProgram.Opcode command, VmProgram.Segment segment, int index, String fileName, StringBuilder asmCode){
+    switch (command){
+      case PUSH:{
         switch(segment){
-          case "constant":
+          case CONSTANT:
             asmCode.append("// push constant ").append(index).append("\n");
             asmCode.append("@").append(index).append("\n");
             asmCode.append("D=A\n");
-            asmCode.append(pushDToStack());
+            pushDToStack(asmCode);
             break;
-          case "local":
-          case "argument":
-          case "this":
-          case "that":
-            asmCode.append("// push ").append(segment).append(" ").append(index).append("\n");
+          case LOCAL:
+          case ARGUMENT:
+          case THIS:
+          case THAT:
+            asmCode.append("// push ").append(segment.name).append(" ").append(index).append("\n");
             asmCode.append("@" + getSegmentPointer(segment) + "\n");
             asmCode.append("D=M\n");
             asmCode.append("@" + index + "\n");
             asmCode.append("A=A+D\n");
             asmCode.append("D=M\n");
-            asmCode.append(pushDToStack());
+            pushDToStack(asmCode);
             break;
-          case "temp":
-            int tempIndex = Integer.parseInt(index);
-            asmCode.append("// push temp ").append(tempIndex).append("\n");
+          case TEMP:
+            asmCode.append("// push temp ").append(index).append("\n");
             asmCode.append("@5\n");
             asmCode.append("D=A\n");
             asmCode.append("@" + index + "\n");
             asmCode.append("A=A+D\n");
             asmCode.append("D=M\n");
-            asmCode.append(pushDToStack());
+            pushDToStack(asmCode);
             break;
-          case "static":
-            String staticName = parts[0] + "." + index;
+          case STATIC:
             asmCode.append("// push static ").append(index).append("\n");
             asmCode.append("@").append(fileName).append("static").append(index).append("\n");
             asmCode.append("D=M\n");
-            asmCode.append(pushDToStack());
+            pushDToStack(asmCode);
             break;
-          case "pointer":
-            int pointerIndex = Integer.parseInt(index);
-            asmCode.append("// push pointer ").append(pointerIndex).append("\n");
-            asmCode.append("@" + (pointerIndex == 0 ? "THIS" : "THAT") + "\n");
+          case POINTER:
+            asmCode.append("// push pointer ").append(index).append("\n");
+            asmCode.append("@" + (index == 0 ? "THIS" : "THAT") + "\n");
             asmCode.append("D=M\n");
-            asmCode.append(pushDToStack());
+            pushDToStack(asmCode);
             break;
           default:
             break;
         } 
         break;
       }
-      case "pop":{
+      case POP:{
         switch(segment){
-          case "local":
-          case "argument":
-          case "this":
-          case "that":
-            asmCode.append("// pop ").append(segment).append(" ").append(index).append("\n");
+          case LOCAL:
+          case ARGUMENT:
+          case THIS:
+          case THAT:
+            asmCode.append("// pop ").append(segment.name).append(" ").append(index).append("\n");
             asmCode.append("@" + getSegmentPointer(segment) + "\n");
             asmCode.append("D=M\n");
             asmCode.append("@").append(index).append("\n");
@@ -434,9 +705,8 @@ public class VirtualMachineTranslator{
             asmCode.append("A=M\n");
             asmCode.append("M=D\n");
             break;
-          case "temp":
-            int tempIndex = Integer.parseInt(index);
-            asmCode.append("// pop temp ").append(tempIndex).append("\n");
+          case TEMP:
+            asmCode.append("// pop temp ").append(index).append("\n");
             asmCode.append("@5\n");
             asmCode.append("D=A\n");
             asmCode.append("@").append(index).append("\n");
@@ -450,10 +720,9 @@ public class VirtualMachineTranslator{
             asmCode.append("A=M\n");
             asmCode.append("M=D\n");
             break;
-          case "static":
-            String staticName = parts[0] + "." + index;
+          case STATIC:
             asmCode.append("// pop static ").append(index).append("\n");
-            asmCode.append("@").append(fileName).append(segment).append(index).append("\n");
+            asmCode.append("@").append(fileName).append("static").append(index).append("\n");
             asmCode.append("D=A\n");
             asmCode.append("@13\n");
             asmCode.append("M=D\n");
@@ -464,13 +733,12 @@ public class VirtualMachineTranslator{
             asmCode.append("A=M\n");
             asmCode.append("M=D\n");
             break;
-          case "pointer":
-            int pointerIndex = Integer.parseInt(index);
-            asmCode.append("// pop pointer ").append(pointerIndex).append("\n");
+          case POINTER:
+            asmCode.append("// pop pointer ").append(index).append("\n");
             asmCode.append("@SP\n");
             asmCode.append("AM=M-1\n");
             asmCode.append("D=M\n");
-            asmCode.append("@" + (pointerIndex == 0 ? "THIS" : "THAT") + "\n");
+            asmCode.append("@" + (index == 0 ? "THIS" : "THAT") + "\n");
             asmCode.append("M=D\n");
             break;
           default:
@@ -479,52 +747,52 @@ public class VirtualMachineTranslator{
         break;
       }
     }
-    return asmCode.toString();
   }
 
-  private static String translateProgramFlowCommand(String[] parts){
-    StringBuilder asmCode = new StringBuilder();
-    switch (parts[0]){
-      case "label":
-        asmCode.append("(" + parts[1] + ")\n");
+  private static void translateProgramFlowCommand(VmProgram.Opcode command, String name, Translation translation){
+    StringBuilder asmCode = translation.asmCode;
+    String label = translation.function + "$" + name;
+    switch (command){
+      case LABEL:
+        asmCode.append("(" + label + ")\n");
         break;
-      case "goto":
-        asmCode.append("@" + parts[1] + "\n");
+      case GOTO:
+        asmCode.append("@" + label + "\n");
         asmCode.append("0;JMP\n");
         break;
-      case "if-goto":
+      case IF_GOTO:
         asmCode.append("@SP\n");
         asmCode.append("AM=M-1\n");
         asmCode.append("D=M\n");
-        asmCode.append("@" + parts[1] + "\n");
+        asmCode.append("@" + label + "\n");
         asmCode.append("D;JNE\n");
         break;
     }
-    return asmCode.toString();
   }
 
-  private static String translateFunctionCallingCommand(String[] parts){
-    StringBuilder asmCode = new StringBuilder();
-    switch (parts[0]){
-      case "function":
-        if (parts[2].equals("0")){
-          asmCode.append("(" + parts[1] + ")\n");
+  private static void translateFunctionCallingCommand(VmProgram.Opcode command, String name, int count, Translation translation){
+    StringBuilder asmCode = translation.asmCode;
+    switch (command){
+      case FUNCTION:
+        translation.function = name;
+        if (count == 0){
+          asmCode.append("(" + name + ")\n");
         }
         else{
-          return functionInitialization(parts[1], parts[2]);
+          functionInitialization(name, count, asmCode);
         }
         break;
-      case "call":
-        return functionCall(parts[1], parts[2]);
-      case "return":
-        return functionReturn();
+      case CALL:
+        functionCall(name, count, translation);
+        break;
+      case RETURN:
+        functionReturn(translation);
+        break;
     }
-    return asmCode.toString();
   }
 
   
-  private static String functionInitialization(String functionName, String numberOfVariable){
-    StringBuilder asmCode = new StringBuilder();
+  private static void functionInitialization(String functionName, int numberOfVariable, StringBuilder asmCode){
     String label = "Initialize" + functionName + numberOfVariable;
     asmCode.append("(" + functionName + ")\n");
     asmCode.append("\n//Initialize function\n");
@@ -539,14 +807,33 @@ public class VirtualMachineTranslator{
     asmCode.append("D=D-1\n");
     asmCode.append("@" + label + "\n");
     asmCode.append("D;JNE\n");
-    return asmCode.toString();
   }
 
-  private static String functionCall(String functionName, String numberOfVariable){
-    StringBuilder asmCode = new StringBuilder();
-    String returnAddress = "RETURN_ADDRESS_" + Integer.toString(returnCounter);
-    returnCounter++;
-    
+  private static void functionCall(String functionName, int numberOfVariable, Translation translation){
+    StringBuilder asmCode = translation.asmCode;
+    String returnAddress = translation.fileName + ".RETURN_ADDRESS_" + Integer.toString(translation.returnCounter);
+    translation.returnCounter++;
+    translation.calls++;
+
+    if (translation.options.compactCalls){
+      // The shared routine takes nArgs in R14, the function in R13 and the return address in D
+      asmCode.append("\n// call ").append(functionName).append(" ").append(numberOfVariable).append("\n");
+      asmCode.append("@").append(numberOfVariable).append("\n");
+      asmCode.append("D=A\n");
+      asmCode.append("@R14\n");
+      asmCode.append("M=D\n");
+      asmCode.append("@").append(functionName).append("\n");
+      asmCode.append("D=A\n");
+      asmCode.append("@R13\n");
+      asmCode.append("M=D\n");
+      asmCode.append("@").append(returnAddress).append("\n");
+      asmCode.append("D=A\n");
+      asmCode.append("@" + CALL_ROUTINE + "\n");
+      asmCode.append("0;JMP\n");
+      asmCode.append("(").append(returnAddress).append(")\n");
+      return;
+    }
+
     //push return address
     asmCode.append("\n//push return address\n");
     asmCode.append("@" + returnAddress + "\n");
@@ -597,11 +884,90 @@ public class VirtualMachineTranslator{
     asmCode.append("(" + returnAddress + ")\n");
     //asmCode.append("0;JMP\n");
 
-    return asmCode.toString();
   }
 
-  private static String functionReturn(){
-    StringBuilder asmCode = new StringBuilder();
+  private static void functionReturn(Translation translation){
+    translation.returns++;
+    if (translation.options.compactCalls){
+      translation.asmCode.append("// return\n");
+      translation.asmCode.append("@" + RETURN_ROUTINE + "\n");
+      translation.asmCode.append("0;JMP\n");
+    }
+    else{
+      functionReturn(translation.asmCode);
+    }
+  }
+
+  /*
+    The shared routines of --compact-calls and --shared-comparisons.
+    They start with an endless loop, so code that runs past its end (or a Sys.init that returns) stops there.
+  */
+  private static void generateSharedRoutines(StringBuilder asmCode, Options options){
+    asmCode.append("\n($halt)\n");
+    asmCode.append("@$halt\n");
+    asmCode.append("0;JMP\n");
+    if (options.compactCalls){
+      generateCallRoutines(asmCode);
+    }
+    if (options.sharedComparisons){
+      generateComparisonRoutine(VmProgram.Opcode.EQ, asmCode);
+      generateComparisonRoutine(VmProgram.Opcode.GT, asmCode);
+      generateComparisonRoutine(VmProgram.Opcode.LT, asmCode);
+    }
+  }
+
+  /*
+    The call routine followed by the return routine,
+    which is the same code functionReturn inlines at every return without the option.
+  */
+  private static void generateCallRoutines(StringBuilder asmCode){
+    generateCallRoutine(asmCode);
+    asmCode.append("\n(" + RETURN_ROUTINE + ")\n");
+    functionReturn(asmCode);
+  }
+
+  /*
+    Saves the frame of the caller and jumps to the function in R13, with the return address in D and the
+    number of arguments in R14
+  */
+  private static void generateCallRoutine(StringBuilder asmCode){
+    asmCode.append("\n(" + CALL_ROUTINE + ")\n");
+    asmCode.append("// push return address\n");
+    asmCode.append("@SP\n");
+    asmCode.append("A=M\n");
+    asmCode.append("M=D\n");
+
+    // push LCL, ARG, THIS, THAT, leaving SP on THAT
+    for (String memorySegment : new String[]{"LCL", "ARG", "THIS", "THAT"}){
+      asmCode.append("// push " + memorySegment + "\n");
+      asmCode.append("@" + memorySegment + "\n");
+      asmCode.append("D=M\n");
+      asmCode.append("@SP\n");
+      asmCode.append("AM=M+1\n");
+      asmCode.append("M=D\n");
+    }
+
+    asmCode.append("// LCL = SP\n");
+    asmCode.append("@SP\n");
+    asmCode.append("MD=M+1\n");
+    asmCode.append("@LCL\n");
+    asmCode.append("M=D\n");
+
+    asmCode.append("// ARG = SP - n - 5\n");
+    asmCode.append("@5\n");
+    asmCode.append("D=D-A\n");
+    asmCode.append("@R14\n");
+    asmCode.append("D=D-M\n");
+    asmCode.append("@ARG\n");
+    asmCode.append("M=D\n");
+
+    asmCode.append("// goto f\n");
+    asmCode.append("@R13\n");
+    asmCode.append("A=M\n");
+    asmCode.append("0;JMP\n");
+  }
+
+  private static void functionReturn(StringBuilder asmCode){
     //FRAME = LCL
     asmCode.append("// FRAME = LCL\n");
     asmCode.append("@LCL\n");
@@ -679,7 +1045,6 @@ public class VirtualMachineTranslator{
     asmCode.append("A=M\n");
     asmCode.append("0;JMP\n");
 
-    return asmCode.toString();
   }
 
 }
\ No newline at end of file
@@ -0,0 +1,257 @@
+import java.io.*;
+import java.util.*;
+
+/*
+  The commands of one .vm file in a compact typed form, which the VirtualMachineTranslator generates code from.
+
+  Command i has its opcode in opcodes[i], and for push and pop its segment in segments[i] and the index in
+  operands[i]. For function and call operands[i] holds the number of locals or arguments. Labels and function
+  names are stored once in the name table and referred to by their index in names[i], -1 when the command has
+  no name.
+
+  The file is read one function at a time, so only the commands of one function are held in memory, however
+  large the file. The parser reads a line at a time and finds the words by hand instead of splitting with a
+  regular expression. Comments, blank lines and unknown words at the start of a line are skipped like before,
+  while a command with a wrong segment, index or count is an error naming its line.
+*/
+public class VmProgram{
+
+  public enum Opcode{
+    ADD("add"), SUB("sub"), NEG("neg"), EQ("eq"), GT("gt"), LT("lt"), AND("and"), OR("or"), NOT("not"),
+    PUSH("push"), POP("pop"),
+    LABEL("label"), GOTO("goto"), IF_GOTO("if-goto"),
+    FUNCTION("function"), CALL("call"), RETURN("return");
+
+    final String mnemonic;
+
+    Opcode(String mnemonic){
+      this.mnemonic = mnemonic;
+    }
+
+    boolean isArithmetic(){
+      return ordinal() <= NOT.ordinal();
+    }
+  }
+
+  public enum Segment{
+    CONSTANT("constant"), LOCAL("local"), ARGUMENT("argument"), THIS("this"), THAT("that"), TEMP("temp"),
+    STATIC("static"), POINTER("pointer");
+
+    final String name;
+
+    Segment(String name){
+      this.name = name;
+    }
+  }
+
+  private static final Opcode[] OPCODE_VALUES = Opcode.values();
+
+  private static final Segment[] SEGMENT_VALUES = Segment.values();
+
+  private static final Map<String, Opcode> OPCODES = new HashMap<>();
+
+  private static final Map<String, Segment> SEGMENTS = new HashMap<>();
+
+  static{
+    for (Opcode opcode : OPCODE_VALUES){
+      OPCODES.put(opcode.mnemonic, opcode);
+    }
+    for (Segment segment : SEGMENT_VALUES){
+      SEGMENTS.put(segment.name, segment);
+    }
+  }
+
+  private byte[] opcodes = new byte[256];
+
+  private byte[] segments = new byte[256];
+
+  private int[] operands = new int[256];
+
+  private int[] names = new int[256];
+
+  private int size = 0;
+
+  private final List<String> nameTable = new ArrayList<>();
+
+  private final Map<String, Integer> nameIndexes = new HashMap<>();
+
+  private BufferedReader reader;
+
+  private int lineNumber = 0;
+
+  // The function command that ended the last function and starts the next one, and its line number.
+  private String pendingLine;
+
+  private int pendingLineNumber;
+
+  public int size(){
+    return size;
+  }
+
+  public Opcode opcode(int command){
+    return OPCODE_VALUES[opcodes[command]];
+  }
+
+  public Segment segment(int command){
+    return SEGMENT_VALUES[segments[command]];
+  }
+
+  public int operand(int command){
+    return operands[command];
+  }
+
+  // The label or function name of a command, null when it has none.
+  public String name(int command){
+    return names[command] == -1 ? null : nameTable.get(names[command]);
+  }
+
+  private void add(Opcode opcode, Segment segment, int operand, String name){
+    if (size == opcodes.length){
+      int capacity = size * 2;
+      opcodes = Arrays.copyOf(opcodes, capacity);
+      segments = Arrays.copyOf(segments, capacity);
+      operands = Arrays.copyOf(operands, capacity);
+      names = Arrays.copyOf(names, capacity);
+    }
+    opcodes[size] = (byte) opcode.ordinal();
+    segments[size] = (byte) (segment == null ? 0 : segment.ordinal());
+    operands[size] = operand;
+    if (name == null){
+      names[size] = -1;
+    }
+    else{
+      Integer index = nameIndexes.get(name);
+      if (index == null){
+        index = nameTable.size();
+        nameTable.add(name);
+        nameIndexes.put(name, index);
+      }
+      names[size] = index;
+    }
+    size++;
+  }
+
+  /*
+    Prepares reading the commands of a .vm file one function at a time with next.
+  */
+  public static VmProgram read(BufferedReader reader){
+    VmProgram program = new VmProgram();
+    program.reader = reader;
+    return program;
+  }
+
+  /*
+    Parses the next function of the file in place of the last one: its function command and the commands up to
+    the next function command. The commands before the first function, if any, come as a function of their own.
+    Returns false at the end of the file.
+  */
+  public boolean next() throws IOException{
+    size = 0;
+    nameTable.clear();
+    nameIndexes.clear();
+    if (pendingLine != null){
+      parseLine(pendingLine, pendingLineNumber);
+      pendingLine = null;
+    }
+    String line;
+    while ((line = reader.readLine()) != null){
+      lineNumber++;
+      int first = size;
+      parseLine(line, lineNumber);
+      if (first > 0 && size > first && opcode(first) == Opcode.FUNCTION){
+        size = first;
+        pendingLine = line;
+        pendingLineNumber = lineNumber;
+        return true;
+      }
+    }
+    return size > 0;
+  }
+
+  private void parseLine(String line, int lineNumber){
+    int end = line.indexOf("//");
+    if (end == -1){
+      end = line.length();
+    }
+    int start = skipSpaces(line, 0, end);
+    if (start == end){
+      return;
+    }
+    int wordEnd = wordEnd(line, start, end);
+    Opcode opcode = OPCODES.get(line.substring(start, wordEnd));
+    if (opcode == null){
+      return;
+    }
+
+    int argumentStart = skipSpaces(line, wordEnd, end);
+    int argumentEnd = wordEnd(line, argumentStart, end);
+    int countStart = skipSpaces(line, argumentEnd, end);
+    int countEnd = wordEnd(line, countStart, end);
+    switch (opcode){
+      case PUSH:
+      case POP:{
+        Segment segment = SEGMENTS.get(line.substring(argumentStart, argumentEnd));
+        if (segment == null || (opcode == Opcode.POP && segment == Segment.CONSTANT)){
+          throw new IllegalArgumentException("line " + lineNumber + ": invalid segment in " + line.trim());
+        }
+        int index = number(line, countStart, countEnd, lineNumber);
+        if ((segment == Segment.TEMP && index > 7) || (segment == Segment.POINTER && index > 1)){
+          throw new IllegalArgumentException("line " + lineNumber + ": index out of range in " + line.trim());
+        }
+        add(opcode, segment, index, null);
+        break;
+      }
+      case LABEL:
+      case GOTO:
+      case IF_GOTO:
+        add(opcode, null, 0, name(line, argumentStart, argumentEnd, lineNumber));
+        break;
+      case FUNCTION:
+      case CALL:
+        add(opcode, null, number(line, countStart, countEnd, lineNumber),
+            name(line, argumentStart, argumentEnd, lineNumber));
+        break;
+      default:
+        add(opcode, null, 0, null);
+    }
+  }
+
+  private static int skipSpaces(String line, int index, int end){
+    while (index < end && Character.isWhitespace(line.charAt(index))){
+      index++;
+    }
+    return index;
+  }
+
+  private static int wordEnd(String line, int index, int end){
+    while (index < end && !Character.isWhitespace(line.charAt(index))){
+      index++;
+    }
+    return index;
+  }
+
+  private static String name(String line, int start, int end, int lineNumber){
+    if (start == end){
+      throw new IllegalArgumentException("line " + lineNumber + ": missing name in " + line.trim());
+    }
+    return line.substring(start, end);
+  }
+
+  private static int number(String line, int start, int end, int lineNumber){
+    if (start == end || end - start > 5){
+      throw new IllegalArgumentException("line " + lineNumber + ": invalid number in " + line.trim());
+    }
+    int value = 0;
+    for (int i = start; i < end; i++){
+      char c = line.charAt(i);
+      if (c < '0' || c > '9'){
+        throw new IllegalArgumentException("line " + lineNumber + ": invalid number in " + line.trim());
+      }
+      value = value * 10 + (c - '0');
+    }
+    if (value > 32767){
+      throw new IllegalArgumentException("line " + lineNumber + ": number out of range in " + line.trim());
+    }
+    return value;
+  }
+}